@@ -0,0 +1,74 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entities with every constrained field populated with a valid value, so validation benchmarks run every validator.
+ */
+final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    static DepartmentEntity fullDepartment(long id) {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        departmentEntity.setId(id);
+        departmentEntity.setTitle("Department " + id);
+        departmentEntity.setDescription("Department used by the benchmarks");
+        departmentEntity.setDepartmentCode("DEPT-AB12");
+        departmentEntity.setContactEmail("department" + id + "@example.com");
+        departmentEntity.setWebsite("https://example.com/departments/" + id);
+        departmentEntity.setIsActive(true);
+        departmentEntity.setIsVerified(true);
+        departmentEntity.setIsArchived(false);
+        departmentEntity.setEmployeeCount(25);
+        departmentEntity.setBudget(new BigDecimal("250000.00"));
+        departmentEntity.setQuarterlyLoss(new BigDecimal("-1200.50"));
+        departmentEntity.setBalanceAdjustment(BigDecimal.ZERO);
+        departmentEntity.setRevenue(new BigDecimal("123456.78"));
+        departmentEntity.setPriority(5);
+        departmentEntity.setEstablishedDate(LocalDate.now().minusYears(10));
+        departmentEntity.setLastUpdated(LocalDateTime.now().minusDays(1));
+        departmentEntity.setPlannedClosureDate(LocalDate.now().plusYears(5));
+        departmentEntity.setNextReviewDate(LocalDate.now().plusMonths(3));
+        departmentEntity.setManagerNames(List.of("Alice Smith", "Bob Jones"));
+        departmentEntity.setPaymentCardNumber("4111111111111111");
+        departmentEntity.setCreatedAt(Instant.now());
+        return departmentEntity;
+    }
+
+    static EmployeeEntity fullEmployee(long id) {
+        EmployeeEntity employeeEntity = new EmployeeEntity();
+        employeeEntity.setId(id);
+        employeeEntity.setName("Employee " + id);
+        employeeEntity.setBio("Employee used by the benchmarks");
+        employeeEntity.setEmployeeId(String.format("EMP-%06d", id % 1_000_000));
+        employeeEntity.setEmail("employee" + id + "@example.com");
+        employeeEntity.setLinkedInProfile("https://www.linkedin.com/in/employee" + id);
+        employeeEntity.setAge(35);
+        employeeEntity.setSalary(new BigDecimal("85000.00"));
+        employeeEntity.setMonthlyDeduction(new BigDecimal("-150.00"));
+        employeeEntity.setAccountBalance(BigDecimal.ZERO);
+        employeeEntity.setBonus(new BigDecimal("5000.25"));
+        employeeEntity.setPerformanceRating(4);
+        employeeEntity.setDob(LocalDate.now().minusYears(35));
+        employeeEntity.setDateOfHire(LocalDate.now().minusYears(3));
+        employeeEntity.setLastLogin(LocalDateTime.now().minusHours(2));
+        employeeEntity.setContractEndDate(LocalDate.now().plusYears(2));
+        employeeEntity.setNextReviewDate(LocalDate.now().plusMonths(6));
+        employeeEntity.setSkills(List.of("Java", "SQL", "Spring"));
+        employeeEntity.setCreditCardNumber("4111111111111111");
+        employeeEntity.setIsPermanent(true);
+        employeeEntity.setIsVerified(true);
+        employeeEntity.setIsOnLeave(false);
+        employeeEntity.setPhoneNumber("+14155552671");
+        employeeEntity.setAddressList(List.of("1 Main Street, Springfield"));
+        return employeeEntity;
+    }
+}
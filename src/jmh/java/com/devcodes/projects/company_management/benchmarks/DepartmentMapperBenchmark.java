@@ -0,0 +1,73 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.mappers.DirectDepartmentMapper;
+import com.devcodes.projects.company_management.mappers.ModelMapperDepartmentMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written DepartmentMapper with the ModelMapper fallback
+ * on one entity and on a 10k element list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepartmentMapperBenchmark {
+    private static final int LIST_SIZE = 10_000;
+
+    private DepartmentMapper directMapper;
+    private DepartmentMapper modelMapperMapper;
+    private DepartmentEntity departmentEntity;
+    private List<DepartmentEntity> departmentEntities;
+
+    @Setup
+    public void setUp() {
+        directMapper = new DirectDepartmentMapper();
+        modelMapperMapper = new ModelMapperDepartmentMapper(new ModelMapper());
+        departmentEntity = department(1L);
+        departmentEntities = new ArrayList<>(LIST_SIZE);
+        for (long id = 1; id <= LIST_SIZE; id++) {
+            departmentEntities.add(department(id));
+        }
+    }
+
+    @Benchmark
+    public DepartmentDTO singleDirect() {
+        return directMapper.toDto(departmentEntity);
+    }
+
+    @Benchmark
+    public DepartmentDTO singleModelMapper() {
+        return modelMapperMapper.toDto(departmentEntity);
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> listDirect() {
+        return directMapper.toDtoList(departmentEntities);
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> listModelMapper() {
+        return modelMapperMapper.toDtoList(departmentEntities);
+    }
+
+    static DepartmentEntity department(long id) {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        departmentEntity.setId(id);
+        departmentEntity.setTitle("Department " + id);
+        departmentEntity.setIsActive(id % 2 == 0);
+        departmentEntity.setCreatedAt(Instant.now());
+        return departmentEntity;
+    }
+}
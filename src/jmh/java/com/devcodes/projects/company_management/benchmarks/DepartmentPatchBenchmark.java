@@ -0,0 +1,60 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.services.DepartmentPatchEngine;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of partialUpdateDepartmentById: converting, setting and validating the patched fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepartmentPatchBenchmark {
+    private ValidatorFactory validatorFactory;
+    private DepartmentPatchEngine departmentPatchEngine;
+    private DepartmentEntity departmentEntity;
+
+    // Values as Jackson hands them to the controller: numbers, booleans and ISO strings
+    private final Map<String, Object> singleField = Map.of("title", "Platform Engineering");
+    private final Map<String, Object> typicalFields = Map.of(
+            "title", "Platform Engineering",
+            "isActive", true,
+            "priority", 3,
+            "budget", 125000.5,
+            "establishedDate", "2015-06-01",
+            "managerNames", List.of("Alice Smith"));
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        departmentPatchEngine = new DepartmentPatchEngine(validatorFactory.getValidator());
+        departmentEntity = BenchmarkFixtures.fullDepartment(1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public DepartmentEntity patchSingleField() {
+        departmentPatchEngine.apply(departmentEntity, singleField);
+        return departmentEntity;
+    }
+
+    @Benchmark
+    public DepartmentEntity patchTypicalFields() {
+        departmentPatchEngine.apply(departmentEntity, typicalFields);
+        return departmentEntity;
+    }
+}
@@ -0,0 +1,87 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import com.devcodes.projects.company_management.entities.FormatChecks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of fully populated entities. "all" is every constraint, what each save paid when Hibernate
+ * validated on flush and what a create still pays; "default" is what an update that leaves the format-checked
+ * fields alone pays now. The invalid-employee pair compares collecting every violation with fail-fast (bulk paths).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Validator failFastValidator;
+    private DepartmentEntity departmentEntity;
+    private EmployeeEntity employeeEntity;
+    private EmployeeEntity invalidEmployeeEntity;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        failFastValidator = validatorFactory.unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator();
+        departmentEntity = BenchmarkFixtures.fullDepartment(1L);
+        employeeEntity = BenchmarkFixtures.fullEmployee(1L);
+        if (!validator.validate(departmentEntity, Default.class, FormatChecks.class).isEmpty()
+                || !validator.validate(employeeEntity, Default.class, FormatChecks.class).isEmpty()) {
+            throw new IllegalStateException("Benchmark fixtures must be valid");
+        }
+        invalidEmployeeEntity = BenchmarkFixtures.fullEmployee(2L);
+        invalidEmployeeEntity.setAge(12);
+        invalidEmployeeEntity.setEmail("not-an-email");
+        invalidEmployeeEntity.setPhoneNumber("phone");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DepartmentEntity>> validateDepartmentAll() {
+        return validator.validate(departmentEntity, Default.class, FormatChecks.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<DepartmentEntity>> validateDepartmentDefault() {
+        return validator.validate(departmentEntity);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeEntity>> validateEmployeeAll() {
+        return validator.validate(employeeEntity, Default.class, FormatChecks.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeEntity>> validateEmployeeDefault() {
+        return validator.validate(employeeEntity);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeEntity>> validateInvalidEmployeeAll() {
+        return validator.validate(invalidEmployeeEntity, Default.class, FormatChecks.class);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeEntity>> validateInvalidEmployeeFailFast() {
+        return failFastValidator.validate(invalidEmployeeEntity, Default.class, FormatChecks.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.CompanyManagementApplication;
+import com.devcodes.projects.company_management.entities.StringListConverter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test that boots the application once per stack and prints throughput and latency percentiles
+ * for each: the servlet application on the platform thread pool, in virtual-thread mode, and the WebFlux + R2DBC
+ * variant (only with --stacks=...,reactive and -Preactive on the command line).
+ * The department cache is disabled so every request reaches the database.
+ *
+ * Run with: mvn -Pbenchmark verify -Dbenchmark.main=com.devcodes.projects.company_management.benchmarks.LoadTestHarness
+ *           -Dbenchmark.args="--concurrency=400 --duration=30"
+ *      or:  mvn -Pbenchmark,reactive verify -Dbenchmark.main=... -Dbenchmark.args="--stacks=platform,virtual,reactive"
+ */
+public class LoadTestHarness {
+    // Referenced by name, src/reactive/java is only compiled with -Preactive
+    private static final String REACTIVE_APPLICATION = "com.devcodes.projects.company_management.reactive.ReactiveCompanyManagementApplication";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20")));
+        int departments = Integer.parseInt(options.getOrDefault("departments", "10000"));
+        List<String> stacks = List.of(options.getOrDefault("stacks", "platform,virtual").split(","));
+
+        List<String> report = new ArrayList<>();
+        for (String stack : stacks) {
+            report.add(run(stack.trim(), concurrency, duration, departments));
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String stack, int concurrency, Duration duration, int departments) throws Exception {
+        try (ConfigurableApplicationContext context = application(stack)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + stack.equals("virtual"),
+                        "spring.datasource.url=jdbc:h2:mem:loadtest_" + stack,
+                        "spring.r2dbc.url=r2dbc:h2:mem:///loadtest_" + stack + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.web=INFO",
+                        "app.cache.departments.maximum-size=0",
+                        "app.rate-limit.enabled=false")
+                .run()) {
+            List<Long> ids = seed(context.getBean(JdbcTemplate.class), departments);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Result result = drive(baseUrl, ids, concurrency, duration);
+            return String.format("%-9s concurrency=%d requests=%d errors=%d throughput=%.0f req/s p50=%.2fms p99=%.2fms",
+                    stack, concurrency, result.latenciesNanos.length, result.errors,
+                    result.latenciesNanos.length / (double) duration.toSeconds(),
+                    percentile(result.latenciesNanos, 0.50) / 1e6, percentile(result.latenciesNanos, 0.99) / 1e6);
+        }
+    }
+
+    private static SpringApplicationBuilder application(String stack) throws ClassNotFoundException {
+        return switch (stack) {
+            case "platform", "virtual" -> new SpringApplicationBuilder(CompanyManagementApplication.class);
+            case "reactive" -> new SpringApplicationBuilder(Class.forName(REACTIVE_APPLICATION)).profiles("reactive");
+            default -> throw new IllegalArgumentException("Unknown stack '" + stack + "', use platform, virtual or reactive");
+        };
+    }
+
+    // Plain JDBC so both stacks are seeded the same way, the reactive one has no JPA repositories
+    private static List<Long> seed(JdbcTemplate jdbcTemplate, int count) {
+        StringListConverter stringListConverter = new StringListConverter();
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Department " + i, stringListConverter.convertToDatabaseColumn(List.of("Manager " + i)),
+                    Instant.now().atOffset(ZoneOffset.UTC), LocalDateTime.now()});
+        }
+        jdbcTemplate.batchUpdate("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                + "values (next value for departments_seq, 0, ?, true, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id from departments order by id", Long.class);
+    }
+
+    // Every worker sends its next request as soon as the previous one completes, half single reads and half pages
+    private static Result drive(String baseUrl, List<Long> ids, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long[] samples = new long[1 << 16];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextBoolean()
+                                ? "/departments/" + ids.get(random.nextInt(ids.size()))
+                                : "/departments?limit=50&after=" + ids.get(random.nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies.add(Arrays.copyOf(samples, count));
+                });
+            }
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.get());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
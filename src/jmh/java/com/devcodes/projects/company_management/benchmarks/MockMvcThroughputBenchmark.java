@@ -0,0 +1,81 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.CompanyManagementApplication;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.repositories.DepartmentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * In-process throughput of the whole MVC pipeline (dispatcher, controller, service, JPA on H2, response envelope)
+ * through MockMvc, without sockets. The department cache is disabled so every request reaches the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockMvcThroughputBenchmark {
+    private static final int DEPARTMENTS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CompanyManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:mockmvc_benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.web=INFO",
+                        "app.cache.departments.maximum-size=0",
+                        "app.rate-limit.enabled=false")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        ids = seed(context.getBean(DepartmentRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getDepartmentById() throws Exception {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return mockMvc.perform(get("/departments/{id}", id)).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getDepartmentsPage() throws Exception {
+        Long after = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return mockMvc.perform(get("/departments").param("after", after.toString()).param("limit", "50"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<Long> seed(DepartmentRepository departmentRepository) {
+        List<DepartmentEntity> departmentEntities = new ArrayList<>(DEPARTMENTS);
+        for (long id = 1; id <= DEPARTMENTS; id++) {
+            DepartmentEntity departmentEntity = BenchmarkFixtures.fullDepartment(id);
+            departmentEntity.setId(null);
+            departmentEntity.setCreatedAt(Instant.now());
+            departmentEntities.add(departmentEntity);
+        }
+        return departmentRepository.saveAll(departmentEntities).stream().map(DepartmentEntity::getId).toList();
+    }
+}
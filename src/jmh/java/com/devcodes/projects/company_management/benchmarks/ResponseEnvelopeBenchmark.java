@@ -0,0 +1,89 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.advices.ApiEnvelope;
+import com.devcodes.projects.company_management.advices.GlobalResponseHandler;
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.mappers.DirectDepartmentMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalResponseHandler.beforeBodyWrite wrapping a body into ApiResponse, followed by Jackson serialization
+ * of the envelope, for one department and for a 50 element page, against ApiEnvelope writing the same bytes
+ * directly to the output stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEnvelopeBenchmark {
+    private static final int PAGE_SIZE = 50;
+
+    private GlobalResponseHandler globalResponseHandler;
+    private ObjectMapper objectMapper;
+    private ApiEnvelope apiEnvelope;
+    private ByteArrayOutputStream outputStream;
+    private DepartmentDTO department;
+    private CursorPageDTO<DepartmentDTO> page;
+
+    @Setup
+    public void setUp() {
+        globalResponseHandler = new GlobalResponseHandler();
+        objectMapper = JsonMapper.builder().build();
+        apiEnvelope = new ApiEnvelope(objectMapper);
+        outputStream = new ByteArrayOutputStream(16 * 1024);
+        DirectDepartmentMapper departmentMapper = new DirectDepartmentMapper();
+        department = departmentMapper.toDto(BenchmarkFixtures.fullDepartment(1L));
+        List<DepartmentDTO> departments = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            departments.add(departmentMapper.toDto(BenchmarkFixtures.fullDepartment(id)));
+        }
+        page = new CursorPageDTO<>(departments, (long) PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object wrapOnly() {
+        return wrap(department);
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerializeSingle() {
+        return objectMapper.writeValueAsBytes(wrap(department));
+    }
+
+    @Benchmark
+    public byte[] wrapAndSerializePage() {
+        return objectMapper.writeValueAsBytes(wrap(page));
+    }
+
+    @Benchmark
+    public int envelopeSingle() throws IOException {
+        return envelope(department);
+    }
+
+    @Benchmark
+    public int envelopePage() throws IOException {
+        return envelope(page);
+    }
+
+    private int envelope(Object body) throws IOException {
+        outputStream.reset();
+        apiEnvelope.write(outputStream, body);
+        return outputStream.size();
+    }
+
+    private Object wrap(Object body) {
+        return globalResponseHandler.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null, null, null);
+    }
+}
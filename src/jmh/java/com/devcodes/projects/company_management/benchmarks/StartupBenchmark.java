@@ -0,0 +1,73 @@
+package com.devcodes.projects.company_management.benchmarks;
+
+import com.devcodes.projects.company_management.CompanyManagementApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Cold start, one boot per forked JVM. "boot" is the time until the context is ready (for prod this includes opening
+ * the file database, running the Flyway migrations and validating the schema); "bootAndFirstQuery" adds the first
+ * GET /departments, so its difference to "boot" is the latency of the first query on a fresh pool and cold caches.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+    @Param({"default", "prod"})
+    public String profile;
+
+    private Path databaseDirectory;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        databaseDirectory = Files.createTempDirectory("startup-benchmark");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext boot() {
+        context = start();
+        return context;
+    }
+
+    @Benchmark
+    public byte[] bootAndFirstQuery() throws Exception {
+        context = start();
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        return mockMvc.perform(get("/departments").param("limit", "50")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private ConfigurableApplicationContext start() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CompanyManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.web=INFO");
+        if (profile.equals("prod")) {
+            builder.profiles("prod")
+                    .properties("spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve("company_management"));
+        }
+        return builder.run();
+    }
+}
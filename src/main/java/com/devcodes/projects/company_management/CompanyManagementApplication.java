@@ -2,12 +2,32 @@ package com.devcodes.projects.company_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+
+import java.util.Arrays;
 
 @SpringBootApplication
 public class CompanyManagementApplication {
 
+	// Startup steps kept for the timeline report and /actuator/startup of the fast-startup profile
+	private static final int STARTUP_STEP_CAPACITY = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(CompanyManagementApplication.class, args);
+		SpringApplication application = new SpringApplication(CompanyManagementApplication.class);
+		if (isProfileActive("fast-startup", args)) {
+			application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		}
+		application.run(args);
+	}
+
+	// The recorder has to be installed before the environment exists, so the profile is looked up where it can be set
+	private static boolean isProfileActive(String profile, String[] args) {
+		String activeProfiles = Arrays.stream(args)
+				.filter(arg -> arg.startsWith("--spring.profiles.active="))
+				.map(arg -> arg.substring("--spring.profiles.active=".length()))
+				.findFirst()
+				.orElseGet(() -> System.getProperty("spring.profiles.active", System.getenv().getOrDefault("SPRING_PROFILES_ACTIVE", "")));
+		return Arrays.stream(activeProfiles.split(",")).map(String::trim).anyMatch(profile::equals);
 	}
 
 }
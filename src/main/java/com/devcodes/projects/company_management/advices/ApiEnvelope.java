@@ -0,0 +1,137 @@
+package com.devcodes.projects.company_management.advices;
+
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Writes the ApiResponse envelope of a successful response straight to the output stream, around the serialized body,
+ * without creating an ApiResponse.
+ * The layout (key order, the null error) is taken once from the live ObjectMapper by serializing a probe ApiResponse,
+ * so the bytes are exactly those Jackson writes for new ApiResponse<>(body). The timestamp is formatted once per second.
+ */
+@Component
+public class ApiEnvelope {
+    // Stands in for a null body, which the message converters would otherwise not write at all
+    public static final Object NULL_DATA = new Object();
+
+    private static final LocalDateTime PROBE_TIME_STAMP = LocalDateTime.of(2000, 1, 1, 11, 11, 11);
+    private static final String PROBE_DATA = "__api_envelope_data__";
+
+    private final ObjectWriter objectWriter;
+    // Envelope bytes before, between and after the two slots
+    private final byte[] head;
+    private final byte[] middle;
+    private final byte[] tail;
+    private final boolean timeStampFirst;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private volatile CachedTimeStamp cachedTimeStamp = new CachedTimeStamp(Long.MIN_VALUE, null);
+
+    public ApiEnvelope(ObjectMapper objectMapper) {
+        this.objectWriter = objectMapper.writer().without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+
+        ApiResponse<String> probe = new ApiResponse<>(PROBE_DATA);
+        probe.setTimeStamp(PROBE_TIME_STAMP);
+        String json = objectMapper.writeValueAsString(probe);
+        String timeStampToken = quote(ApiResponse.TIME_STAMP_FORMATTER.format(PROBE_TIME_STAMP));
+        String dataToken = objectMapper.writeValueAsString(PROBE_DATA);
+        int timeStampAt = json.indexOf(timeStampToken);
+        int dataAt = json.indexOf(dataToken);
+        if (timeStampAt < 0 || dataAt < 0) {
+            throw new IllegalStateException("Unsupported ApiResponse layout: " + json);
+        }
+
+        this.timeStampFirst = timeStampAt < dataAt;
+        int firstAt = Math.min(timeStampAt, dataAt);
+        int firstEnd = firstAt + (timeStampFirst ? timeStampToken : dataToken).length();
+        int secondAt = Math.max(timeStampAt, dataAt);
+        int secondEnd = secondAt + (timeStampFirst ? dataToken : timeStampToken).length();
+        this.head = json.substring(0, firstAt).getBytes(StandardCharsets.UTF_8);
+        this.middle = json.substring(firstEnd, secondAt).getBytes(StandardCharsets.UTF_8);
+        this.tail = json.substring(secondEnd).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Envelope around a value, serialized the same way Jackson serializes the data property of ApiResponse
+    public void write(OutputStream outputStream, Object data) throws IOException {
+        write(outputStream, generator -> generator.writePOJO(data));
+    }
+
+    // Envelope around whatever the writer generates, used to stream a body that is never held in memory
+    public void write(OutputStream outputStream, DataWriter dataWriter) throws IOException {
+        outputStream.write(head);
+        if (timeStampFirst) {
+            outputStream.write(timeStamp());
+            outputStream.write(middle);
+            writeData(outputStream, dataWriter);
+        } else {
+            writeData(outputStream, dataWriter);
+            outputStream.write(middle);
+            outputStream.write(timeStamp());
+        }
+        outputStream.write(tail);
+    }
+
+    // Envelope bytes before and after the data for a body that is produced in chunks, e.g. a reactive stream
+    public Frame frame() {
+        byte[] timeStamp = timeStamp();
+        return timeStampFirst
+                ? new Frame(concat(head, timeStamp, middle), tail)
+                : new Frame(head, concat(middle, timeStamp, tail));
+    }
+
+    private void writeData(OutputStream outputStream, DataWriter dataWriter) {
+        try (JsonGenerator generator = objectWriter.createGenerator(outputStream)) {
+            dataWriter.write(generator);
+        }
+    }
+
+    // Quoted timestamp of the current second, shared by every response written within that second
+    private byte[] timeStamp() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedTimeStamp current = cachedTimeStamp;
+        if (current.second() != second) {
+            LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zoneId);
+            current = new CachedTimeStamp(second, quote(ApiResponse.TIME_STAMP_FORMATTER.format(now)).getBytes(StandardCharsets.UTF_8));
+            cachedTimeStamp = current;
+        }
+        return current.bytes();
+    }
+
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, bytes, offset, part.length);
+            offset += part.length;
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    public interface DataWriter {
+        void write(JsonGenerator generator);
+    }
+
+    private record CachedTimeStamp(long second, byte[] bytes) {
+    }
+
+    public record Frame(byte[] prefix, byte[] suffix) {
+    }
+}
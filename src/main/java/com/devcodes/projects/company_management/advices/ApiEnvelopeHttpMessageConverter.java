@@ -0,0 +1,76 @@
+package com.devcodes.projects.company_management.advices;
+
+import com.devcodes.projects.company_management.CompanyManagementApplication;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import tools.jackson.core.JacksonException;
+
+import java.io.IOException;
+
+/**
+ * Writes the bodies returned by this application's controllers inside the ApiResponse envelope through ApiEnvelope,
+ * in place of GlobalResponseHandler wrapping them and the Jackson converter serializing the wrapper.
+ * Registered first, it only claims JSON bodies of application handlers; ApiResponse bodies (errors) and framework
+ * endpoints such as Actuator go to the regular converters.
+ */
+public class ApiEnvelopeHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+    private static final String APPLICATION_PACKAGE = CompanyManagementApplication.class.getPackageName() + '.';
+
+    private final ApiEnvelope apiEnvelope;
+
+    public ApiEnvelopeHttpMessageConverter(ApiEnvelope apiEnvelope) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.apiEnvelope = apiEnvelope;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return !ApiResponse.class.isAssignableFrom(clazz)
+                && !CharSequence.class.isAssignableFrom(clazz)
+                && !Resource.class.isAssignableFrom(clazz)
+                && clazz != byte[].class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return super.canWrite(clazz, mediaType) && isApplicationHandler();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiEnvelopeHttpMessageConverter only writes responses", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            apiEnvelope.write(outputMessage.getBody(), body == ApiEnvelope.NULL_DATA ? null : body);
+        } catch (JacksonException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static boolean isApplicationHandler() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return false;
+        }
+        Object handler = requestAttributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType().getName().startsWith(APPLICATION_PACKAGE);
+    }
+}
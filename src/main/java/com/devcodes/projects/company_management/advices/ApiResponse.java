@@ -5,11 +5,15 @@ import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 public class ApiResponse<T> {
 
-    @JsonFormat(pattern = "hh:mm:ss dd-MM-yyyy")
+    public static final String TIME_STAMP_PATTERN = "hh:mm:ss dd-MM-yyyy";
+    public static final DateTimeFormatter TIME_STAMP_FORMATTER = DateTimeFormatter.ofPattern(TIME_STAMP_PATTERN);
+
+    @JsonFormat(pattern = TIME_STAMP_PATTERN)
     private LocalDateTime timeStamp;
     private T data;
     private ApiError error;
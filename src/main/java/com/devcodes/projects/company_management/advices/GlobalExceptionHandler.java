@@ -1,9 +1,15 @@
 package com.devcodes.projects.company_management.advices;
 
+import com.devcodes.projects.company_management.exceptions.GoneException;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
 import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.exceptions.TooManyRequestsException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -68,6 +74,27 @@ public class GlobalExceptionHandler {
         return buildErrorResponseEntity(apiError);
     }
 
+    /**
+     * Handles ConstraintViolationException - when an entity fails Bean Validation outside of @Valid (e.g. PATCH)
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiResponse<?>> handleConstraintViolation(ConstraintViolationException exception) {
+        List<String> errors = exception
+                .getConstraintViolations()
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toList());
+
+        logger.warn("Constraint violation: {}", errors);
+        ApiError apiError = ApiError
+                .builder()
+                .status(HttpStatus.BAD_REQUEST)
+                .message("Validation failed")
+                .subErrors(errors)
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
     /**
      * Handles IllegalArgumentException - when invalid arguments are passed
      */
@@ -94,6 +121,47 @@ public class GlobalExceptionHandler {
         return buildErrorResponseEntity(apiError);
     }
 
+    /**
+     * Handles PreconditionFailedException - when the If-Match version no longer matches the stored one
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<?>> handlePreconditionFailed(PreconditionFailedException exception) {
+        logger.warn("Precondition failed: {}", exception.getMessage());
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .message(exception.getMessage())
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+    /**
+     * Handles GoneException - when a change token points before the retained department deletions
+     */
+    @ExceptionHandler(GoneException.class)
+    public ResponseEntity<ApiResponse<?>> handleGone(GoneException exception) {
+        logger.warn("Gone: {}", exception.getMessage());
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.GONE)
+                .message(exception.getMessage())
+                .build();
+        return buildErrorResponseEntity(apiError);
+    }
+
+    /**
+     * Handles TooManyRequestsException - when a client is over its rate limit or writes are being shed
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<?>> handleTooManyRequests(TooManyRequestsException exception) {
+        logger.warn("Too many requests: {}", exception.getMessage());
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .message(exception.getMessage())
+                .build();
+        return ResponseEntity.status(apiError.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .body(new ApiResponse<>(apiError));
+    }
+
     /**
      * Handles DataIntegrityViolationException - when database constraints are violated
      */
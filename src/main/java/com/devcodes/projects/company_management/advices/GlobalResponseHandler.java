@@ -11,17 +11,22 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 @RestControllerAdvice
 public class GlobalResponseHandler implements ResponseBodyAdvice<Object> {
 
+    // Actuator endpoints keep their own formats
     @Override
     public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
-        return true;
+        return !returnType.getContainingClass().getPackageName().contains(".actuate");
     }
 
     @Override
     public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        // ApiEnvelopeHttpMessageConverter writes the envelope itself, a null body only needs a stand-in to still be written
+        if(selectedConverterType == ApiEnvelopeHttpMessageConverter.class) {
+            return body == null ? ApiEnvelope.NULL_DATA : body;
+        }
         if(body instanceof ApiResponse<?>) {
             return body;
         }
 
         return new ApiResponse<>(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,315 @@
+package com.devcodes.projects.company_management.analytics;
+
+import com.devcodes.projects.company_management.dtos.DepartmentAnalyticsDTO;
+import com.devcodes.projects.company_management.dtos.GroupSummaryDTO;
+import com.devcodes.projects.company_management.dtos.MetricSummaryDTO;
+import com.devcodes.projects.company_management.dtos.SalaryBandsDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Department and salary aggregates materialized in memory. Every row is kept as a small snapshot of the columns the
+ * aggregates use, so a write is applied as "subtract the old snapshot, add the new one" and reads never scan rows.
+ * Money is held as long cents, counts and priorities as plain longs. All methods are synchronized, writes only touch
+ * a handful of accumulators and reads copy out a few dozen numbers.
+ */
+public class DepartmentAnalytics {
+    // Lower bounds in cents of the salary bands, the last band is open-ended
+    private static final long[] SALARY_BAND_BOUNDS = {0, 30_000_00, 60_000_00, 90_000_00, 120_000_00};
+    private static final List<String> SALARY_BAND_LABELS = bandLabels();
+
+    private static final String NONE = "none";
+
+    // Department columns, money in cents, any of them may be null. The head count is not one of them: the
+    // employee_count column is not maintained, it is derived from the employees of the department instead
+    public record DepartmentFacts(Boolean isActive, Integer priority, Integer establishedYear,
+                                  Long budget, Long revenue, Long quarterlyLoss, Long balanceAdjustment) {
+    }
+
+    // Employee columns, money in cents, any of them may be null
+    public record EmployeeFacts(Long departmentId, Long salary, Long bonus) {
+    }
+
+    private final Map<Long, DepartmentFacts> departments = new HashMap<>();
+    private final Map<Long, EmployeeFacts> employees = new HashMap<>();
+
+    private final MetricAccumulator budget = new MetricAccumulator(true);
+    private final MetricAccumulator revenue = new MetricAccumulator(true);
+    private final MetricAccumulator quarterlyLoss = new MetricAccumulator(true);
+    private final MetricAccumulator balanceAdjustment = new MetricAccumulator(true);
+    private final MetricAccumulator employeeCount = new MetricAccumulator(true);
+    private final MetricAccumulator priority = new MetricAccumulator(true);
+    private final MetricAccumulator salary = new MetricAccumulator(true);
+    private final MetricAccumulator bonus = new MetricAccumulator(true);
+
+    private final Map<Boolean, GroupTotals> byIsActive = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+    private final Map<Integer, GroupTotals> byPriority = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+    private final Map<Integer, GroupTotals> byEstablishedYear = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+    private final Map<Long, Payroll> payrollByDepartment = new HashMap<>();
+
+    // Ids written through put/remove while the startup load runs, the load must not overwrite them with older rows
+    private Set<Long> departmentsWrittenDuringBuild;
+    private Set<Long> employeesWrittenDuringBuild;
+    private boolean loaded;
+
+    public synchronized void putDepartment(long id, DepartmentFacts facts) {
+        if (departmentsWrittenDuringBuild != null) {
+            departmentsWrittenDuringBuild.add(id);
+        }
+        replaceDepartment(id, facts);
+    }
+
+    public synchronized void removeDepartment(long id) {
+        if (departmentsWrittenDuringBuild != null) {
+            departmentsWrittenDuringBuild.add(id);
+        }
+        replaceDepartment(id, null);
+    }
+
+    public synchronized void putEmployee(long id, EmployeeFacts facts) {
+        if (employeesWrittenDuringBuild != null) {
+            employeesWrittenDuringBuild.add(id);
+        }
+        replaceEmployee(id, facts);
+    }
+
+    public synchronized void removeEmployee(long id) {
+        if (employeesWrittenDuringBuild != null) {
+            employeesWrittenDuringBuild.add(id);
+        }
+        replaceEmployee(id, null);
+    }
+
+    public synchronized void beginBuild() {
+        departmentsWrittenDuringBuild = new HashSet<>();
+        employeesWrittenDuringBuild = new HashSet<>();
+    }
+
+    // Add a department read by the startup load, unless a newer put or remove for it already happened
+    public synchronized void putDepartmentFromBuild(long id, DepartmentFacts facts) {
+        if (departmentsWrittenDuringBuild == null || !departmentsWrittenDuringBuild.contains(id)) {
+            replaceDepartment(id, facts);
+        }
+    }
+
+    public synchronized void putEmployeeFromBuild(long id, EmployeeFacts facts) {
+        if (employeesWrittenDuringBuild == null || !employeesWrittenDuringBuild.contains(id)) {
+            replaceEmployee(id, facts);
+        }
+    }
+
+    public synchronized void endBuild(boolean succeeded) {
+        departmentsWrittenDuringBuild = null;
+        employeesWrittenDuringBuild = null;
+        loaded = succeeded;
+    }
+
+    public synchronized DepartmentAnalyticsDTO snapshot() {
+        Map<String, MetricSummaryDTO> metrics = new LinkedHashMap<>();
+        metrics.put("budget", summary(budget, 2));
+        metrics.put("revenue", summary(revenue, 2));
+        metrics.put("quarterlyLoss", summary(quarterlyLoss, 2));
+        metrics.put("balanceAdjustment", summary(balanceAdjustment, 2));
+        metrics.put("employeeCount", summary(employeeCount, 0));
+        metrics.put("priority", summary(priority, 0));
+
+        Map<String, MetricSummaryDTO> employeeMetrics = new LinkedHashMap<>();
+        employeeMetrics.put("salary", summary(salary, 2));
+        employeeMetrics.put("bonus", summary(bonus, 2));
+
+        return new DepartmentAnalyticsDTO(departments.size(), metrics, groups(byIsActive), groups(byPriority),
+                groups(byEstablishedYear), employeeMetrics, loaded);
+    }
+
+    // Salary bands of one department, empty bands for a department without employees
+    public synchronized SalaryBandsDTO salaryBands(long departmentId) {
+        return bands(departmentId, payrollByDepartment.getOrDefault(departmentId, new Payroll()));
+    }
+
+    // Salary bands of every department with employees, by department id
+    public synchronized List<SalaryBandsDTO> allSalaryBands() {
+        List<SalaryBandsDTO> result = new ArrayList<>(payrollByDepartment.size());
+        new TreeMap<>(payrollByDepartment).forEach((departmentId, payroll) -> result.add(bands(departmentId, payroll)));
+        return result;
+    }
+
+    public static Long toCents(BigDecimal amount) {
+        return amount == null ? null : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private void replaceDepartment(long id, DepartmentFacts facts) {
+        DepartmentFacts previous = facts == null ? departments.remove(id) : departments.put(id, facts);
+        if (previous != null) {
+            applyDepartment(id, previous, -1);
+        }
+        if (facts != null) {
+            applyDepartment(id, facts, 1);
+        }
+    }
+
+    private void replaceEmployee(long id, EmployeeFacts facts) {
+        EmployeeFacts previous = facts == null ? employees.remove(id) : employees.put(id, facts);
+        if (previous != null) {
+            applyEmployee(previous, -1);
+        }
+        if (facts != null) {
+            applyEmployee(facts, 1);
+        }
+    }
+
+    private void applyDepartment(long id, DepartmentFacts facts, int sign) {
+        apply(budget, facts.budget(), sign);
+        apply(revenue, facts.revenue(), sign);
+        apply(quarterlyLoss, facts.quarterlyLoss(), sign);
+        apply(balanceAdjustment, facts.balanceAdjustment(), sign);
+        apply(priority, facts.priority() == null ? null : facts.priority().longValue(), sign);
+        // The groups must exist before the head count is added to them and still exist when it is subtracted
+        if (sign < 0) {
+            applyHeadCount(facts, headCount(id), sign);
+        }
+        applyGroup(byIsActive, facts.isActive(), facts, sign);
+        applyGroup(byPriority, facts.priority(), facts, sign);
+        applyGroup(byEstablishedYear, facts.establishedYear(), facts, sign);
+        if (sign > 0) {
+            applyHeadCount(facts, headCount(id), sign);
+        }
+    }
+
+    private void applyEmployee(EmployeeFacts facts, int sign) {
+        apply(salary, facts.salary(), sign);
+        apply(bonus, facts.bonus(), sign);
+        if (facts.departmentId() == null) {
+            return;
+        }
+        // A known department is counted with its old head count taken out and its new one put back in
+        DepartmentFacts department = departments.get(facts.departmentId());
+        if (department != null) {
+            applyHeadCount(department, headCount(facts.departmentId()), -1);
+        }
+        Payroll payroll = payrollByDepartment.computeIfAbsent(facts.departmentId(), departmentId -> new Payroll());
+        payroll.apply(facts, sign);
+        if (payroll.employees == 0) {
+            payrollByDepartment.remove(facts.departmentId());
+        }
+        if (department != null) {
+            applyHeadCount(department, headCount(facts.departmentId()), 1);
+        }
+    }
+
+    // Employees of one department, the department does not have to be known yet
+    private long headCount(long departmentId) {
+        Payroll payroll = payrollByDepartment.get(departmentId);
+        return payroll == null ? 0 : payroll.employees;
+    }
+
+    // Count a department's head count in (sign 1) or out of (sign -1) the employeeCount metric and its groups
+    private void applyHeadCount(DepartmentFacts facts, long headCount, int sign) {
+        apply(employeeCount, headCount, sign);
+        byIsActive.get(facts.isActive()).employeeCount += sign * headCount;
+        byPriority.get(facts.priority()).employeeCount += sign * headCount;
+        byEstablishedYear.get(facts.establishedYear()).employeeCount += sign * headCount;
+    }
+
+    private static void apply(MetricAccumulator accumulator, Long value, int sign) {
+        if (sign > 0) {
+            accumulator.add(value);
+        } else {
+            accumulator.remove(value);
+        }
+    }
+
+    private static <K> void applyGroup(Map<K, GroupTotals> groups, K key, DepartmentFacts facts, int sign) {
+        GroupTotals totals = groups.computeIfAbsent(key, k -> new GroupTotals());
+        totals.apply(facts, sign);
+        if (totals.departments == 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static <K> Map<String, GroupSummaryDTO> groups(Map<K, GroupTotals> groups) {
+        Map<String, GroupSummaryDTO> result = new LinkedHashMap<>();
+        groups.forEach((key, totals) -> result.put(key == null ? NONE : key.toString(), totals.toDto()));
+        return result;
+    }
+
+    private static MetricSummaryDTO summary(MetricAccumulator accumulator, int scale) {
+        return new MetricSummaryDTO(accumulator.count(), amount(accumulator.sum(), scale),
+                average(accumulator.sum(), accumulator.count(), scale),
+                amount(accumulator.percentile(0.50), scale),
+                amount(accumulator.percentile(0.90), scale),
+                amount(accumulator.percentile(0.99), scale));
+    }
+
+    private static SalaryBandsDTO bands(long departmentId, Payroll payroll) {
+        Map<String, Long> bands = new LinkedHashMap<>();
+        for (int i = 0; i < SALARY_BAND_LABELS.size(); i++) {
+            bands.put(SALARY_BAND_LABELS.get(i), payroll.bandCounts[i]);
+        }
+        return new SalaryBandsDTO(departmentId, payroll.employees, amount(payroll.salary.sum(), 2),
+                average(payroll.salary.sum(), payroll.salary.count(), 2), amount(payroll.bonus.sum(), 2), bands);
+    }
+
+    private static BigDecimal amount(long value, int scale) {
+        return BigDecimal.valueOf(value, scale);
+    }
+
+    private static BigDecimal average(long sum, long count, int scale) {
+        return count == 0 ? null : BigDecimal.valueOf(sum, scale).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    private static int band(long cents) {
+        int band = 0;
+        while (band + 1 < SALARY_BAND_BOUNDS.length && cents >= SALARY_BAND_BOUNDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static List<String> bandLabels() {
+        Function<Long, String> units = cents -> BigDecimal.valueOf(cents, 2).stripTrailingZeros().toPlainString();
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < SALARY_BAND_BOUNDS.length; i++) {
+            labels.add(i + 1 < SALARY_BAND_BOUNDS.length
+                    ? units.apply(SALARY_BAND_BOUNDS[i]) + "-" + units.apply(SALARY_BAND_BOUNDS[i + 1])
+                    : units.apply(SALARY_BAND_BOUNDS[i]) + "+");
+        }
+        return List.copyOf(labels);
+    }
+
+    private static final class GroupTotals {
+        private long departments;
+        private final MetricAccumulator budget = new MetricAccumulator(false);
+        private final MetricAccumulator revenue = new MetricAccumulator(false);
+        private long employeeCount;
+
+        void apply(DepartmentFacts facts, int sign) {
+            departments += sign;
+            DepartmentAnalytics.apply(budget, facts.budget(), sign);
+            DepartmentAnalytics.apply(revenue, facts.revenue(), sign);
+        }
+
+        GroupSummaryDTO toDto() {
+            return new GroupSummaryDTO(departments, amount(budget.sum(), 2), average(budget.sum(), budget.count(), 2),
+                    amount(revenue.sum(), 2), average(revenue.sum(), revenue.count(), 2), employeeCount);
+        }
+    }
+
+    private static final class Payroll {
+        private long employees;
+        private final MetricAccumulator salary = new MetricAccumulator(false);
+        private final MetricAccumulator bonus = new MetricAccumulator(false);
+        private final long[] bandCounts = new long[SALARY_BAND_BOUNDS.length];
+
+        void apply(EmployeeFacts facts, int sign) {
+            employees += sign;
+            DepartmentAnalytics.apply(salary, facts.salary(), sign);
+            DepartmentAnalytics.apply(bonus, facts.bonus(), sign);
+            if (facts.salary() != null) {
+                bandCounts[band(facts.salary())] += sign;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.devcodes.projects.company_management.analytics;
+
+/**
+ * Fixed-size histogram of long values with 64 linear sub-buckets per power of two, so a percentile is read with a
+ * bounded scan whatever the number of values, within 1/128 of the exact value. Values can be added and removed.
+ * Every bucket also keeps the sum of its values and a percentile is the mean of the values in its bucket, so it is
+ * exact when they are all equal and never outside the range of the values.
+ */
+final class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    // Zero and positive values by magnitude, negative values by the magnitude of their negation. The arrays of a sign
+    // are allocated with its first value, most metrics never hold a negative one
+    private Buckets positive;
+    private Buckets negative;
+    private long count;
+
+    void add(long value) {
+        record(value, 1);
+    }
+
+    void remove(long value) {
+        record(value, -1);
+    }
+
+    // Value at or below which the given fraction of the values fall, 0 for an empty histogram
+    long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        if (negative != null) {
+            for (int i = BUCKETS - 1; i >= 0; i--) {
+                seen += negative.counts[i];
+                if (seen >= rank) {
+                    return -negative.mean(i);
+                }
+            }
+        }
+        if (positive != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += positive.counts[i];
+                if (seen >= rank) {
+                    return positive.mean(i);
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void record(long value, int delta) {
+        if (value < 0) {
+            if (negative == null) {
+                negative = new Buckets();
+            }
+            long magnitude = value == Long.MIN_VALUE ? Long.MAX_VALUE : -value;
+            negative.record(index(magnitude), magnitude, delta);
+        } else {
+            if (positive == null) {
+                positive = new Buckets();
+            }
+            positive.record(index(value), value, delta);
+        }
+        count += delta;
+    }
+
+    private static int index(long magnitude) {
+        if (magnitude < SUB_BUCKETS) {
+            return (int) magnitude;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(magnitude);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (magnitude >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static final class Buckets {
+        private final long[] counts = new long[BUCKETS];
+        private final long[] sums = new long[BUCKETS];
+
+        void record(int index, long magnitude, int delta) {
+            counts[index] += delta;
+            sums[index] += delta * magnitude;
+        }
+
+        // Mean magnitude of the values in a non-empty bucket, it lies within the bucket like every one of them
+        long mean(int index) {
+            return Math.round((double) sums[index] / counts[index]);
+        }
+    }
+}
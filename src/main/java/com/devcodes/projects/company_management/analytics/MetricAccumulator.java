@@ -0,0 +1,49 @@
+package com.devcodes.projects.company_management.analytics;
+
+/**
+ * Count and sum of a metric held as longs (cents for money), with an optional histogram for percentiles.
+ * Null values are not counted.
+ */
+final class MetricAccumulator {
+    private final LogHistogram histogram;
+    private long count;
+    private long sum;
+
+    MetricAccumulator(boolean withPercentiles) {
+        this.histogram = withPercentiles ? new LogHistogram() : null;
+    }
+
+    void add(Long value) {
+        if (value == null) {
+            return;
+        }
+        count++;
+        sum += value;
+        if (histogram != null) {
+            histogram.add(value);
+        }
+    }
+
+    void remove(Long value) {
+        if (value == null) {
+            return;
+        }
+        count--;
+        sum -= value;
+        if (histogram != null) {
+            histogram.remove(value);
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    long sum() {
+        return sum;
+    }
+
+    long percentile(double fraction) {
+        return histogram == null ? 0 : histogram.percentile(fraction);
+    }
+}
@@ -0,0 +1,90 @@
+package com.devcodes.projects.company_management.caches;
+
+import com.devcodes.projects.company_management.dtos.CacheStatsDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of DepartmentDTOs keyed by tenant and department id, bounded by size and time to live.
+ * The tenant is always the one of the calling thread.
+ * Only found departments are cached, a miss for an unknown id always goes to the repository.
+ * Entries are futures: concurrent misses for one id share the load in flight (single flight) without holding a lock
+ * while it runs, and an invalidation drops an in-flight load so a later reader starts a fresh one.
+ */
+public class DepartmentCache implements MeterBinder {
+    private final AsyncCache<TenantKey, DepartmentDTO> cache;
+
+    public DepartmentCache(long maximumSize, Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // The loader completes with null for an unknown id; failures of the load are rethrown unwrapped
+    public Optional<DepartmentDTO> get(Long id, Function<TenantKey, CompletableFuture<DepartmentDTO>> loader) {
+        try {
+            return Optional.ofNullable(cache.get(TenantKey.current(id), (key, executor) -> loader.apply(key)).join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Cached department or null, never loads or waits for a load in flight
+    public DepartmentDTO getIfPresent(Long id) {
+        return cache.synchronous().getIfPresent(TenantKey.current(id));
+    }
+
+    // Whether a loaded department is cached, without counting a hit or a miss in the stats
+    public boolean contains(Long id) {
+        return cache.synchronous().policy().getIfPresentQuietly(TenantKey.current(id)) != null;
+    }
+
+    // Drop the entry now and, when called inside a transaction, once more after it completes so a reader
+    // cannot re-cache the old row between the write and the commit
+    public void invalidate(Long id) {
+        TenantKey key = TenantKey.current(id);
+        cache.synchronous().invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(key);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheStatsDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.synchronous().estimatedSize(), stats.hitRate());
+    }
+
+    // Publishes the same counters as cache.gets/cache.evictions/cache.size with cache=departments
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "departments");
+    }
+}
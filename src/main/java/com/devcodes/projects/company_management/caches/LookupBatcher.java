@@ -0,0 +1,143 @@
+package com.devcodes.projects.company_management.caches;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Turns concurrent point lookups into batched ones. The first key of a batch opens a window; every distinct key
+ * requested before it closes (or before the batch reaches maxBatchSize) is loaded by one call of the batch loader,
+ * typically a single IN query. A key that is already waiting in the open batch shares its future instead of being
+ * added twice. Batches run on their own virtual thread, so a slow query never holds back the next window.
+ * Absent keys complete with null.
+ */
+public class LookupBatcher<K, V> implements MeterBinder, AutoCloseable {
+    private final String name;
+    private final Function<Collection<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService windowTimer;
+    private final Executor batchExecutor;
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private volatile DistributionSummary batchSizes;
+    private volatile Timer waitTimer;
+    private volatile Counter coalescedCounter;
+
+    public LookupBatcher(String name, Function<Collection<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.windowTimer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(name + "-lookup-window").daemon().factory());
+        this.batchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-lookup-batch-", 0).factory());
+    }
+
+    public CompletableFuture<V> load(K key) {
+        long start = System.nanoTime();
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> fullBatch = null;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                Counter counter = coalescedCounter;
+                if (counter != null) {
+                    counter.increment();
+                }
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = windowTimer.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            future.whenComplete((value, error) -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        windowTimer.shutdownNow();
+        flush();
+    }
+
+    // The window of the open batch closed; it may already have been taken early because it filled up
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    // Caller holds the lock
+    private Map<K, CompletableFuture<V>> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        DistributionSummary summary = batchSizes;
+        if (summary != null) {
+            summary.record(batch.size());
+        }
+        batchExecutor.execute(() -> {
+            try {
+                Map<K, V> values = batchLoader.apply(batch.keySet());
+                batch.forEach((key, future) -> future.complete(values.get(key)));
+            } catch (RuntimeException | Error e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    // One batch is one database round-trip: app.lookup.batch.size count versus app.lookup.wait count is the reduction
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        batchSizes = DistributionSummary.builder("app.lookup.batch.size")
+                .description("Keys loaded per batch")
+                .tag("lookup", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        waitTimer = Timer.builder("app.lookup.wait")
+                .description("Time from requesting a key to its batch completing, window included")
+                .tag("lookup", name)
+                .publishPercentileHistogram()
+                .register(registry);
+        coalescedCounter = Counter.builder("app.lookup.coalesced")
+                .description("Lookups that joined a key already waiting in the open batch")
+                .tag("lookup", name)
+                .register(registry);
+    }
+}
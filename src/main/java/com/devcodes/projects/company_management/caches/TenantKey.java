@@ -0,0 +1,11 @@
+package com.devcodes.projects.company_management.caches;
+
+import com.devcodes.projects.company_management.sharding.TenantContext;
+
+// Cache and lookup key of a row of one tenant, ids alone are only unique within a shard
+public record TenantKey(String tenant, Long id) {
+
+    public static TenantKey current(Long id) {
+        return new TenantKey(TenantContext.currentTenant(), id);
+    }
+}
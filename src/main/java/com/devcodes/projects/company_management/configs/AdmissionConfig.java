@@ -0,0 +1,64 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.ratelimit.AdmissionControlInterceptor;
+import com.devcodes.projects.company_management.ratelimit.AdmissionControlInterceptor.RateLimit;
+import com.devcodes.projects.company_management.ratelimit.EndpointClass;
+import com.devcodes.projects.company_management.ratelimit.LoadShedder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rate limiting and write load shedding for /departments and /employees, switched off with app.rate-limit.enabled=false.
+ * Registered first so a rejected request costs no other interceptor work.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public AdmissionConfig(AdmissionControlInterceptor admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    @Bean
+    public static LoadShedder getLoadShedder(@Value("${app.load-shedding.read-p99-slo:200ms}") Duration readSlo,
+                                             @Value("${app.load-shedding.window:1s}") Duration window,
+                                             @Value("${app.load-shedding.min-write-concurrency:2}") int minWriteLimit,
+                                             @Value("${app.load-shedding.max-write-concurrency:64}") int maxWriteLimit) {
+        return new LoadShedder(readSlo, window, minWriteLimit, maxWriteLimit);
+    }
+
+    @Bean
+    public static AdmissionControlInterceptor getAdmissionControlInterceptor(LoadShedder loadShedder,
+                                                                             @Value("${app.rate-limit.read.rate:200}") double readRate,
+                                                                             @Value("${app.rate-limit.read.burst:400}") int readBurst,
+                                                                             @Value("${app.rate-limit.write.rate:50}") double writeRate,
+                                                                             @Value("${app.rate-limit.write.burst:100}") int writeBurst,
+                                                                             @Value("${app.rate-limit.bulk.rate:1}") double bulkRate,
+                                                                             @Value("${app.rate-limit.bulk.burst:5}") int bulkBurst,
+                                                                             @Value("${app.rate-limit.client-header:}") String clientHeader,
+                                                                             @Value("${app.rate-limit.trusted-proxies:}") Set<String> trustedProxies,
+                                                                             @Value("${app.rate-limit.maximum-clients:100000}") long maximumClients,
+                                                                             @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        return new AdmissionControlInterceptor(Map.of(
+                EndpointClass.READ, new RateLimit(readRate, readBurst),
+                EndpointClass.WRITE, new RateLimit(writeRate, writeBurst),
+                EndpointClass.BULK, new RateLimit(bulkRate, bulkBurst)), loadShedder, clientHeader, trustedProxies, maximumClients, idleTimeout);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/departments/**", "/employees/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.caches.DepartmentCache;
+import com.devcodes.projects.company_management.caches.LookupBatcher;
+import com.devcodes.projects.company_management.caches.TenantKey;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.repositories.DepartmentRepository;
+import com.devcodes.projects.company_management.repositories.DepartmentRow;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public DepartmentCache getDepartmentCache(@Value("${app.cache.departments.maximum-size:10000}") long maximumSize,
+                                              @Value("${app.cache.departments.ttl:10m}") Duration timeToLive) {
+        return new DepartmentCache(maximumSize, timeToLive);
+    }
+
+    // Cache misses of GET /departments/{id} arriving within the window are read with one IN query per tenant,
+    // run as that tenant so it reaches the tenant's shard and rows
+    @Bean
+    public LookupBatcher<TenantKey, DepartmentDTO> getDepartmentLookupBatcher(DepartmentRepository departmentRepository,
+                                                                         DepartmentMapper departmentMapper,
+                                                                         @Value("${app.departments.lookup.window:2ms}") Duration window,
+                                                                         @Value("${app.departments.lookup.max-batch-size:100}") int maxBatchSize) {
+        return new LookupBatcher<>("departments", keys -> {
+            Map<TenantKey, DepartmentDTO> departments = new HashMap<>();
+            Map<String, List<Long>> idsByTenant = keys.stream()
+                    .collect(Collectors.groupingBy(TenantKey::tenant, Collectors.mapping(TenantKey::id, Collectors.toList())));
+            idsByTenant.forEach((tenant, ids) -> TenantContext.runAs(tenant, () -> {
+                for (DepartmentRow departmentRow : departmentRepository.findRowsByIds(ids)) {
+                    departments.put(new TenantKey(tenant, departmentRow.id()), departmentMapper.toDto(departmentRow));
+                }
+            }));
+            return departments;
+        }, window, maxBatchSize);
+    }
+}
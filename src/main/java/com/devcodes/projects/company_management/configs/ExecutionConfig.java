@@ -0,0 +1,43 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.jdbc.GatedDataSource;
+import com.devcodes.projects.company_management.jdbc.JdbcConcurrencyGate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, switched on with spring.threads.virtual.enabled=true (see the virtual-threads profile).
+ * Tomcat then runs every request, and the service calls made from it, on its own virtual thread and the DataSource
+ * is wrapped with a JdbcConcurrencyGate sized to the connection pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ExecutionConfig {
+
+    @Bean
+    public JdbcConcurrencyGate getJdbcConcurrencyGate(@Value("${app.jdbc.gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                                      @Value("${app.jdbc.gate.timeout:30s}") Duration timeout) {
+        return new JdbcConcurrencyGate(permits, timeout);
+    }
+
+    @Bean
+    public static BeanPostProcessor getGatedDataSourcePostProcessor(ObjectProvider<JdbcConcurrencyGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    return new GatedDataSource(dataSource, gate.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.services.DepartmentOutboxService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Fast-startup profile (application-fast-startup.properties): beans are created on first use, except the ones that
+ * must exist before the first request. The outbox dispatcher is only scheduled once its bean exists, and the entity
+ * manager factory (with the Flyway migration it depends on) would otherwise boot Hibernate inside the first request.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter getEagerBeansFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DepartmentOutboxService.class, EntityManagerFactory.class);
+    }
+}
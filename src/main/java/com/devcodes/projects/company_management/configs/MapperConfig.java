@@ -1,6 +1,12 @@
 package com.devcodes.projects.company_management.configs;
 
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.mappers.DirectDepartmentMapper;
+import com.devcodes.projects.company_management.mappers.DirectEmployeeMapper;
+import com.devcodes.projects.company_management.mappers.EmployeeMapper;
+import com.devcodes.projects.company_management.mappers.ModelMapperDepartmentMapper;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,4 +17,23 @@ public class MapperConfig {
     public ModelMapper getModelMapper() {
         return new ModelMapper();
     }
+
+    // Default department mapper: hand-written copy, no reflection on the request path
+    @Bean
+    @ConditionalOnProperty(name = "app.mapper.department", havingValue = "direct", matchIfMissing = true)
+    public DepartmentMapper getDirectDepartmentMapper() {
+        return new DirectDepartmentMapper();
+    }
+
+    // Fallback to the reflective ModelMapper conversion
+    @Bean
+    @ConditionalOnProperty(name = "app.mapper.department", havingValue = "modelmapper")
+    public DepartmentMapper getModelMapperDepartmentMapper(ModelMapper modelMapper) {
+        return new ModelMapperDepartmentMapper(modelMapper);
+    }
+
+    @Bean
+    public EmployeeMapper getEmployeeMapper() {
+        return new DirectEmployeeMapper();
+    }
 }
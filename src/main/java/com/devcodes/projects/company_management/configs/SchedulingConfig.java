@@ -0,0 +1,10 @@
+package com.devcodes.projects.company_management.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Runs the @Scheduled background jobs, the department outbox dispatcher and the tombstone pruning
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
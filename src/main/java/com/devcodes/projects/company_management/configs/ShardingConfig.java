@@ -0,0 +1,137 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.sharding.ShardRing;
+import com.devcodes.projects.company_management.sharding.ShardRoutingDataSource;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import com.devcodes.projects.company_management.sharding.TenantInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tenant sharding, switched on with app.sharding.enabled=true (see the sharded profile). Every tenant lives on the
+ * shard the consistent hash ring assigns it, and the DataSource routes each connection there. Each shard is a
+ * separate database migrated by Flyway on startup; within a shard the tenants are told apart by the tenant_id column.
+ * Startup refuses a ring that would route a tenant away from all of its rows, e.g. after a shard was added without
+ * pinning the tenants it takes over.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+    // Shard i allocates ids from i << 40, so the rows of a tenant keep unique ids when they are moved to another shard
+    private static final int SEQUENCE_REGION_BITS = 40;
+    private static final List<String> SEQUENCES = List.of("departments_seq", "employees_seq");
+
+    private final TenantInterceptor tenantInterceptor;
+
+    public ShardingConfig(TenantInterceptor tenantInterceptor) {
+        this.tenantInterceptor = tenantInterceptor;
+    }
+
+    @Bean
+    public static ShardRing getShardRing(@Value("${app.sharding.shards}") List<String> shards,
+                                         @Value("${app.sharding.virtual-nodes:128}") int virtualNodes,
+                                         @Value("${app.sharding.pinned-tenants:}") List<String> pinnedTenants) {
+        Map<String, String> pins = new HashMap<>();
+        for (String pinnedTenant : pinnedTenants) {
+            int separator = pinnedTenant.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected tenant:shard in app.sharding.pinned-tenants, got '" + pinnedTenant + "'");
+            }
+            pins.put(pinnedTenant.substring(0, separator).trim(), pinnedTenant.substring(separator + 1).trim());
+        }
+        return new ShardRing(shards, virtualNodes, pins);
+    }
+
+    @Bean
+    public static ShardRoutingDataSource getShardRoutingDataSource(ShardRing shardRing,
+                                                                   @Value("${app.sharding.url-template}") String urlTemplate,
+                                                                   @Value("${app.sharding.pool-size:5}") int poolSize,
+                                                                   @Value("${spring.datasource.username:}") String username,
+                                                                   @Value("${spring.datasource.password:}") String password,
+                                                                   @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations) {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        for (String shard : shardRing.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setJdbcUrl(urlTemplate.replace("{shard}", shard));
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            shards.put(shard, dataSource);
+        }
+        try {
+            int shardIndex = 0;
+            for (HikariDataSource dataSource : shards.values()) {
+                Flyway.configure().dataSource(dataSource).locations(migrationLocations).load().migrate();
+                moveSequencesToRegion(new JdbcTemplate(dataSource), (long) shardIndex++ << SEQUENCE_REGION_BITS);
+            }
+            checkTenantsRouted(shardRing, shards);
+        } catch (RuntimeException e) {
+            shards.values().forEach(HikariDataSource::close);
+            throw e;
+        }
+        return new ShardRoutingDataSource(shardRing, shards);
+    }
+
+    @Bean
+    public static TenantInterceptor getTenantInterceptor(ShardRing shardRing,
+                                                         @Value("${app.sharding.tenant-header:X-Tenant-Id}") String tenantHeader) {
+        return new TenantInterceptor(tenantHeader, shardRing);
+    }
+
+    // Streams and exports run on the async executor, they must keep reading the shard of the request's tenant
+    @Bean
+    public static TaskDecorator getTenantTaskDecorator() {
+        return TenantContext::wrap;
+    }
+
+    // After admission control, before the entity manager of the request is opened
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantInterceptor)
+                .addPathPatterns("/departments/**", "/employees/**", "/analytics/**")
+                .order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+
+    // A changed shard list or pin moves routing, not rows: fail instead of serving those tenants an empty shard
+    private static void checkTenantsRouted(ShardRing shardRing, Map<String, HikariDataSource> shards) {
+        Map<String, Set<String>> tenantsByShard = new HashMap<>();
+        shards.forEach((shard, dataSource) -> tenantsByShard.put(shard, new HashSet<>(new JdbcTemplate(dataSource).queryForList(
+                "select tenant_id from departments union select tenant_id from employees", String.class))));
+        Map<String, String> stranded = shardRing.strandedTenants(tenantsByShard);
+        if (!stranded.isEmpty()) {
+            throw new IllegalStateException("Tenants would be routed away from their rows, copy them to their new shard or "
+                    + "pin them where they are with app.sharding.pinned-tenants=" + stranded.entrySet().stream()
+                    .map(tenant -> tenant.getKey() + ":" + tenant.getValue())
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    // Only ever moves a sequence forward, restarting an already advanced shard keeps its position
+    private static void moveSequencesToRegion(JdbcTemplate jdbcTemplate, long regionStart) {
+        for (String sequence : SEQUENCES) {
+            Long nextValue = jdbcTemplate.queryForObject("select base_value from information_schema.sequences where sequence_name = ?",
+                    Long.class, sequence.toUpperCase());
+            if (nextValue != null && nextValue < regionStart) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + regionStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.devcodes.projects.company_management.configs;
+
+import com.devcodes.projects.company_management.advices.ApiEnvelope;
+import com.devcodes.projects.company_management.advices.ApiEnvelopeHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final ApiEnvelope apiEnvelope;
+
+    public WebConfig(ApiEnvelope apiEnvelope) {
+        this.apiEnvelope = apiEnvelope;
+    }
+
+    // Custom converters go ahead of the defaults, so it is picked before the Jackson converter for application responses
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new ApiEnvelopeHttpMessageConverter(apiEnvelope));
+    }
+}
@@ -0,0 +1,24 @@
+package com.devcodes.projects.company_management.controllers;
+
+import com.devcodes.projects.company_management.caches.DepartmentCache;
+import com.devcodes.projects.company_management.dtos.CacheStatsDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/admin")
+public class AdminController {
+    private final DepartmentCache departmentCache;
+
+    public AdminController(DepartmentCache departmentCache) {
+        this.departmentCache = departmentCache;
+    }
+
+    // Hit/miss/eviction counters of the department lookup cache
+    @GetMapping(path = "/caches/departments")
+    public ResponseEntity<CacheStatsDTO> getDepartmentCacheStats() {
+        return ResponseEntity.ok(departmentCache.getStats());
+    }
+}
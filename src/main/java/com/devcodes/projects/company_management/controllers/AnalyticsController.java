@@ -0,0 +1,51 @@
+package com.devcodes.projects.company_management.controllers;
+
+import com.devcodes.projects.company_management.dtos.DepartmentAnalyticsDTO;
+import com.devcodes.projects.company_management.dtos.SalaryBandsDTO;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.services.AnalyticsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/analytics")
+public class AnalyticsController {
+    private final ObjectProvider<AnalyticsService> analyticsService;
+
+    public AnalyticsController(ObjectProvider<AnalyticsService> analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // Budget, revenue and head count sums, averages and percentiles, grouped by isActive, priority and establishment year
+    @GetMapping(path = "/departments")
+    public ResponseEntity<DepartmentAnalyticsDTO> getDepartmentAnalytics() {
+        return ResponseEntity.ok(analytics().getDepartmentAnalytics());
+    }
+
+    // Salary bands of every department with employees
+    @GetMapping(path = "/departments/salary-bands")
+    public ResponseEntity<List<SalaryBandsDTO>> getSalaryBands() {
+        return ResponseEntity.ok(analytics().getSalaryBands());
+    }
+
+    // Salary bands of one department
+    @GetMapping(path = "/departments/{departmentId}/salary-bands")
+    public ResponseEntity<SalaryBandsDTO> getSalaryBands(@PathVariable(name = "departmentId") Long id) {
+        return ResponseEntity.ok(analytics().getSalaryBands(id));
+    }
+
+    // Analytics are left out of deployments that switch them off (app.analytics.enabled=false)
+    private AnalyticsService analytics() {
+        AnalyticsService service = analyticsService.getIfAvailable();
+        if (service == null) {
+            throw new ResourceNotFoundException("Analytics are not enabled");
+        }
+        return service;
+    }
+}
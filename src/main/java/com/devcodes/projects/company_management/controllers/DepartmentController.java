@@ -1,43 +1,174 @@
 package com.devcodes.projects.company_management.controllers;
 
+import com.devcodes.projects.company_management.advices.ApiEnvelope;
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentChangesDTO;
 import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.dtos.ExchangeFormat;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
 import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.dtos.EmployeeFilterDTO;
+import com.devcodes.projects.company_management.events.DepartmentChangeFeed;
 import com.devcodes.projects.company_management.services.DepartmentService;
+import com.devcodes.projects.company_management.services.EmployeeService;
+import com.devcodes.projects.company_management.services.ExchangeCodec;
+import com.devcodes.projects.company_management.services.SearchService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping(path = "/departments")
 public class DepartmentController {
+    private static final int MAX_PAGE_LIMIT = 1000;
+
     private final DepartmentService departmentService;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ApiEnvelope apiEnvelope;
+    private final ObjectProvider<SearchService> searchService;
+    private final ExchangeCodec exchangeCodec;
+    private final DepartmentChangeFeed departmentChangeFeed;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, EmployeeService employeeService, ObjectMapper objectMapper,
+                                ApiEnvelope apiEnvelope, ObjectProvider<SearchService> searchService, ExchangeCodec exchangeCodec,
+                                DepartmentChangeFeed departmentChangeFeed) {
         this.departmentService = departmentService;
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.apiEnvelope = apiEnvelope;
+        this.searchService = searchService;
+        this.exchangeCodec = exchangeCodec;
+        this.departmentChangeFeed = departmentChangeFeed;
     }
 
-    // GET call to get the list of all departments in the database
+    // GET call to get one page of departments, ordered by id and starting after the given cursor
     @GetMapping
-    public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
-        return ResponseEntity.ok(departmentService.getAllDepartments());
+    public ResponseEntity<CursorPageDTO<DepartmentDTO>> getAllDepartments(@RequestParam(name = "after", required = false) Long after,
+                                                                          @RequestParam(name = "limit", defaultValue = "50") int limit,
+                                                                          @RequestParam(name = "expand", required = false) Set<String> expand,
+                                                                          WebRequest webRequest) {
+        checkLimit(limit);
+        Set<String> expansions = checkExpand(expand);
+        // ETags describe the plain representation only, expanded pages also depend on the employees
+        if (!expansions.isEmpty()) {
+            return ResponseEntity.ok(departmentService.getDepartmentsPage(after, limit, expansions));
+        }
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && webRequest.checkNotModified(departmentService.getDepartmentsPageETag(after, limit))) {
+            return null;
+        }
+        CursorPageDTO<DepartmentDTO> page = departmentService.getDepartmentsPage(after, limit, expansions);
+        return ResponseEntity.ok().eTag(departmentService.getDepartmentsPageETag(page.getContent())).body(page);
+    }
+
+    // GET call to poll for the departments created, updated or deleted since the token of the previous poll, at most
+    // limit of each per response
+    @GetMapping(path = "/changes")
+    public ResponseEntity<DepartmentChangesDTO> getDepartmentChanges(@RequestParam(name = "since") String since,
+                                                                     @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        checkLimit(limit);
+        return ResponseEntity.ok(departmentService.getDepartmentChangesSince(since, limit));
+    }
+
+    // GET call to subscribe to department changes as server-sent events, resuming after the offset in Last-Event-ID or ?after
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDepartmentEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+                                                             @RequestParam(name = "after", required = false) Long after) {
+        return ResponseEntity.ok(departmentChangeFeed.subscribe(lastEventId != null ? lastEventId : after));
+    }
+
+    // GET call to stream every department in the database, rows are written as they are read from the cursor
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllDepartments() {
+        StreamingResponseBody responseBody = this::writeDepartmentStream;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(responseBody);
+    }
+
+    // GET call to export every department as CSV or NDJSON straight from the database cursor, gzip-compressed with ?gzip=true
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportDepartments(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                                   @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        ExchangeFormat exchangeFormat = ExchangeFormat.fromParameter(format);
+        StreamingResponseBody responseBody = outputStream -> exchangeCodec.export(outputStream, exchangeFormat, gzip,
+                DepartmentDTO.class, DepartmentService.EXPANSIONS, departmentService::streamAllDepartments);
+        return ResponseEntity.ok().headers(ExchangeCodec.exportHeaders("departments", exchangeFormat, gzip)).body(responseBody);
+    }
+
+    // Import departments from a CSV or NDJSON upload (gzip with Content-Encoding: gzip) as new rows, ids in the file are
+    // ignored; rows are validated and written in chunks while the rest is still being read
+    @PostMapping(path = "/import")
+    public ResponseEntity<BulkResultDTO> importDepartments(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                           HttpServletRequest request) throws IOException {
+        try (MappingIterator<DepartmentDTO> inputDepartments = exchangeCodec.read(request.getInputStream(),
+                request.getHeader(HttpHeaders.CONTENT_ENCODING), ExchangeFormat.fromParameter(format),
+                DepartmentDTO.class, DepartmentService.EXPANSIONS)) {
+            return ResponseEntity.ok(departmentService.importDepartments(inputDepartments));
+        }
+    }
+
+    // Type-ahead search on title and department code with prefix and typo-tolerant matching
+    @GetMapping(path = "/search")
+    public ResponseEntity<List<DepartmentDTO>> searchDepartments(@RequestParam(name = "q") String query,
+                                                                 @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(search().searchDepartments(query, limit));
     }
 
     // Get department by id if exists in the database
     @GetMapping(path = "/{departmentId}")
-    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable(name = "departmentId") Long id) {
-        Optional<DepartmentDTO> departmentDTO = departmentService.getDepartmentById(id);
+    public ResponseEntity<DepartmentDTO> getDepartmentById(@PathVariable(name = "departmentId") Long id,
+                                                           @RequestParam(name = "expand", required = false) Set<String> expand,
+                                                           WebRequest webRequest) {
+        Set<String> expansions = checkExpand(expand);
+        if (expansions.isEmpty() && webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = departmentService.getDepartmentVersion(id);
+            if (version.isPresent() && webRequest.checkNotModified(eTag(version.get()))) {
+                return null;
+            }
+        }
+        Optional<DepartmentDTO> departmentDTO = departmentService.getDepartmentById(id, expansions);
         return departmentDTO
-                .map(ResponseEntity::ok)
+                .map(department -> expansions.isEmpty()
+                        ? ResponseEntity.ok().eTag(eTag(department.getVersion())).body(department)
+                        : ResponseEntity.ok(department))
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: "+id));
     }
 
+    // Get one page of the employees of a department, same columns and cursor as GET /employees
+    @GetMapping(path = "/{departmentId}/employees")
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getDepartmentEmployees(@PathVariable(name = "departmentId") Long id,
+                                                                                     @RequestParam(name = "fields", required = false) List<String> fields,
+                                                                                     @RequestParam(name = "after", required = false) Long after,
+                                                                                     @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        checkLimit(limit);
+        if (!departmentService.isDepartmentPresentById(id)) {
+            throw new ResourceNotFoundException("Department not found with id: " + id);
+        }
+        EmployeeFilterDTO filter = new EmployeeFilterDTO();
+        filter.setDepartmentId(id);
+        return ResponseEntity.ok(employeeService.getEmployeesPage(filter, fields, after, limit));
+    }
+
     // Create a new department
     @PostMapping
     public ResponseEntity<DepartmentDTO> createNewDepartment(@RequestBody @Valid DepartmentDTO inputDepartment) {
@@ -45,11 +176,16 @@ public class DepartmentController {
         return new ResponseEntity<>(departmentDTO, HttpStatus.CREATED);
     }
 
-    // Update all details of a department using a departmentId
+    // Update all details of a department using a departmentId, only if it is still at the If-Match version when given
     @PostMapping(path = "/{departmentId}")
-    public ResponseEntity<DepartmentDTO> updateDepartmentById(@RequestBody @Valid DepartmentDTO inputDepartment, @PathVariable(name = "departmentId") Long id) {
-        DepartmentDTO departmentDTO = departmentService.updateDepartmentById(inputDepartment, id);
-        return new ResponseEntity<>(departmentDTO, HttpStatus.ACCEPTED);
+    public ResponseEntity<DepartmentDTO> updateDepartmentById(@RequestBody @Valid DepartmentDTO inputDepartment, @PathVariable(name = "departmentId") Long id,
+                                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DepartmentDTO departmentDTO = departmentService.updateDepartmentById(inputDepartment, id, parseIfMatch(ifMatch));
+        // The new version is only known when the update was conditional
+        if (departmentDTO.getVersion() == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(departmentDTO);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).eTag(eTag(departmentDTO.getVersion())).body(departmentDTO);
     }
 
     // Delete a department
@@ -59,9 +195,103 @@ public class DepartmentController {
         return ResponseEntity.noContent().build();
     }
 
+    // Create many departments from a JSON array
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkCreateDepartments(@RequestBody List<DepartmentDTO> inputDepartments) {
+        return ResponseEntity.ok(departmentService.bulkCreateDepartments(inputDepartments.iterator()));
+    }
+
+    // Create many departments from NDJSON, lines are parsed while earlier chunks are being written
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkCreateDepartmentsNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<DepartmentDTO> inputDepartments = objectMapper.readerFor(DepartmentDTO.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(departmentService.bulkCreateDepartments(inputDepartments));
+        }
+    }
+
+    // Update many departments from a JSON array, every item must carry its id
+    @PutMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkUpdateDepartments(@RequestBody List<DepartmentDTO> inputDepartments) {
+        return ResponseEntity.ok(departmentService.bulkUpdateDepartments(inputDepartments.iterator()));
+    }
+
+    // Update many departments from NDJSON, every line must carry its id
+    @PutMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkUpdateDepartmentsNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<DepartmentDTO> inputDepartments = objectMapper.readerFor(DepartmentDTO.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(departmentService.bulkUpdateDepartments(inputDepartments));
+        }
+    }
+
+    // Delete many departments, the body is a JSON array of ids
+    @DeleteMapping(path = "/bulk")
+    public ResponseEntity<BulkResultDTO> bulkDeleteDepartments(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(departmentService.bulkDeleteDepartments(ids));
+    }
+
     @PatchMapping(path = "/{departmentId}")
-    public ResponseEntity<DepartmentDTO> partialUpdateDepartmentById(@RequestBody Map<String, Object> fieldToUpdate, @PathVariable(name = "departmentId") Long id) {
-        DepartmentDTO departmentDTO = departmentService.partialUpdateDepartmentById(fieldToUpdate, id);
-        return ResponseEntity.ok(departmentDTO);
+    public ResponseEntity<DepartmentDTO> partialUpdateDepartmentById(@RequestBody Map<String, Object> fieldToUpdate, @PathVariable(name = "departmentId") Long id,
+                                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DepartmentDTO departmentDTO = departmentService.partialUpdateDepartmentById(fieldToUpdate, id, parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(departmentDTO.getVersion())).body(departmentDTO);
+    }
+
+    // Strong ETag of a single department, its version
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Version expected by an If-Match header, null when absent or "*" (any version of an existing department)
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() >= 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            eTag = eTag.substring(1, eTag.length() - 1);
+        }
+        try {
+            return Long.valueOf(eTag);
+        } catch (NumberFormatException e) {
+            // Weak, list or foreign ETags can never match a department version
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+    }
+
+    private static Set<String> checkExpand(Set<String> expand) {
+        if (expand == null) {
+            return Set.of();
+        }
+        for (String expansion : expand) {
+            if (!DepartmentService.EXPANSIONS.contains(expansion)) {
+                throw new IllegalArgumentException("Unknown expansion '" + expansion + "', allowed values are " + DepartmentService.EXPANSIONS);
+            }
+        }
+        return expand;
+    }
+
+    // Writes the same envelope as every other response around a JSON array, one row at a time
+    private void writeDepartmentStream(OutputStream outputStream) throws IOException {
+        apiEnvelope.write(outputStream, generator -> {
+            generator.writeStartArray();
+            departmentService.streamAllDepartments(generator::writePOJO);
+            generator.writeEndArray();
+        });
+        outputStream.flush();
+    }
+
+    // Search is left out of deployments that switch it off (app.search.enabled=false)
+    private SearchService search() {
+        SearchService service = searchService.getIfAvailable();
+        if (service == null) {
+            throw new ResourceNotFoundException("Search is not enabled");
+        }
+        return service;
     }
 }
@@ -0,0 +1,157 @@
+package com.devcodes.projects.company_management.controllers;
+
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeFilterDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeSummaryDTO;
+import com.devcodes.projects.company_management.dtos.ExchangeFormat;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.services.EmployeeService;
+import com.devcodes.projects.company_management.services.ExchangeCodec;
+import com.devcodes.projects.company_management.services.SearchService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping(path = "/employees")
+public class EmployeeController {
+    private static final int MAX_PAGE_LIMIT = 1000;
+
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<SearchService> searchService;
+    private final ExchangeCodec exchangeCodec;
+
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper, ObjectProvider<SearchService> searchService,
+                              ExchangeCodec exchangeCodec) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.searchService = searchService;
+        this.exchangeCodec = exchangeCodec;
+    }
+
+    // GET call to get one page of employees matching the filters, ?fields= selects the returned columns
+    @GetMapping
+    public ResponseEntity<CursorPageDTO<Map<String, Object>>> getAllEmployees(@ModelAttribute EmployeeFilterDTO filter,
+                                                                              @RequestParam(name = "fields", required = false) List<String> fields,
+                                                                              @RequestParam(name = "after", required = false) Long after,
+                                                                              @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+        return ResponseEntity.ok(employeeService.getEmployeesPage(filter, fields, after, limit));
+    }
+
+    // GET call to export every employee as CSV or NDJSON straight from the database cursor, gzip-compressed with ?gzip=true
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                                 @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        ExchangeFormat exchangeFormat = ExchangeFormat.fromParameter(format);
+        StreamingResponseBody responseBody = outputStream -> exchangeCodec.export(outputStream, exchangeFormat, gzip,
+                EmployeeDTO.class, Set.of(), employeeService::streamAllEmployees);
+        return ResponseEntity.ok().headers(ExchangeCodec.exportHeaders("employees", exchangeFormat, gzip)).body(responseBody);
+    }
+
+    // Import employees from a CSV or NDJSON upload (gzip with Content-Encoding: gzip) as new rows, ids in the file are
+    // ignored; rows are validated and written in chunks while the rest is still being read
+    @PostMapping(path = "/import")
+    public ResponseEntity<BulkResultDTO> importEmployees(@RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                         HttpServletRequest request) throws IOException {
+        try (MappingIterator<EmployeeDTO> inputEmployees = exchangeCodec.read(request.getInputStream(),
+                request.getHeader(HttpHeaders.CONTENT_ENCODING), ExchangeFormat.fromParameter(format),
+                EmployeeDTO.class, Set.of())) {
+            return ResponseEntity.ok(employeeService.importEmployees(inputEmployees));
+        }
+    }
+
+    // Type-ahead search on name, email and skills with prefix and typo-tolerant matching
+    @GetMapping(path = "/search")
+    public ResponseEntity<List<EmployeeSummaryDTO>> searchEmployees(@RequestParam(name = "q") String query,
+                                                                    @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(search().searchEmployees(query, limit));
+    }
+
+    // Get employee by id if exists in the database
+    @GetMapping(path = "/{employeeId}")
+    public ResponseEntity<EmployeeDTO> getEmployeeById(@PathVariable(name = "employeeId") Long id) {
+        return employeeService.getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+    }
+
+    // Create a new employee
+    @PostMapping
+    public ResponseEntity<EmployeeDTO> createNewEmployee(@RequestBody EmployeeDTO inputEmployee) {
+        return new ResponseEntity<>(employeeService.createNewEmployee(inputEmployee), HttpStatus.CREATED);
+    }
+
+    // Update all details of an employee using an employeeId
+    @PutMapping(path = "/{employeeId}")
+    public ResponseEntity<EmployeeDTO> updateEmployeeById(@RequestBody EmployeeDTO inputEmployee, @PathVariable(name = "employeeId") Long id) {
+        return new ResponseEntity<>(employeeService.updateEmployeeById(inputEmployee, id), HttpStatus.ACCEPTED);
+    }
+
+    // Delete an employee
+    @DeleteMapping(path = "/{employeeId}")
+    public ResponseEntity<Void> deleteEmployee(@PathVariable(name = "employeeId") Long id) {
+        employeeService.deleteEmployeeById(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Create many employees from a JSON array
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkCreateEmployees(@RequestBody List<EmployeeDTO> inputEmployees) {
+        return ResponseEntity.ok(employeeService.bulkCreateEmployees(inputEmployees.iterator()));
+    }
+
+    // Create many employees from NDJSON, lines are parsed while earlier chunks are being written
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkCreateEmployeesNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<EmployeeDTO> inputEmployees = objectMapper.readerFor(EmployeeDTO.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(employeeService.bulkCreateEmployees(inputEmployees));
+        }
+    }
+
+    // Update many employees from a JSON array, every item must carry its id
+    @PutMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkUpdateEmployees(@RequestBody List<EmployeeDTO> inputEmployees) {
+        return ResponseEntity.ok(employeeService.bulkUpdateEmployees(inputEmployees.iterator()));
+    }
+
+    // Update many employees from NDJSON, every line must carry its id
+    @PutMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkResultDTO> bulkUpdateEmployeesNdjson(HttpServletRequest request) throws IOException {
+        try (MappingIterator<EmployeeDTO> inputEmployees = objectMapper.readerFor(EmployeeDTO.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(employeeService.bulkUpdateEmployees(inputEmployees));
+        }
+    }
+
+    // Delete many employees, the body is a JSON array of ids
+    @DeleteMapping(path = "/bulk")
+    public ResponseEntity<BulkResultDTO> bulkDeleteEmployees(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(employeeService.bulkDeleteEmployees(ids));
+    }
+
+    // Search is left out of deployments that switch it off (app.search.enabled=false)
+    private SearchService search() {
+        SearchService service = searchService.getIfAvailable();
+        if (service == null) {
+            throw new ResourceNotFoundException("Search is not enabled");
+        }
+        return service;
+    }
+}
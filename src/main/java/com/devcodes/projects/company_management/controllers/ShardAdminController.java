@@ -0,0 +1,36 @@
+package com.devcodes.projects.company_management.controllers;
+
+import com.devcodes.projects.company_management.dtos.ShardStatsDTO;
+import com.devcodes.projects.company_management.services.ShardStatsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping(path = "/admin/shards")
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardAdminController {
+    private final ShardStatsService shardStatsService;
+
+    public ShardAdminController(ShardStatsService shardStatsService) {
+        this.shardStatsService = shardStatsService;
+    }
+
+    // Tenant, department and employee counts plus probe and request latencies of every shard
+    @GetMapping
+    public ResponseEntity<List<ShardStatsDTO>> getShardStats() {
+        return ResponseEntity.ok(shardStatsService.getShardStats());
+    }
+
+    // Shard a tenant is routed to
+    @GetMapping(path = "/tenants/{tenant}")
+    public ResponseEntity<Map<String, String>> getShardOfTenant(@PathVariable(name = "tenant") String tenant) {
+        return ResponseEntity.ok(Map.of("tenant", tenant, "shard", shardStatsService.getShardOf(tenant)));
+    }
+}
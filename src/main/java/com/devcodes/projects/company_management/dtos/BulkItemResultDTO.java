@@ -0,0 +1,19 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDTO {
+    // Position of the item in the request body (array index or NDJSON line, starting at 0)
+    int index;
+    Long id;
+    BulkItemStatus status;
+    List<String> errors;
+}
@@ -0,0 +1,12 @@
+package com.devcodes.projects.company_management.dtos;
+
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    INVALID,
+    NOT_FOUND,
+    // The row exists but other rows still reference it, so it was left in place
+    CONFLICT,
+    FAILED
+}
@@ -0,0 +1,18 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResultDTO {
+    int total;
+    int succeeded;
+    int failed;
+    List<BulkItemResultDTO> items;
+}
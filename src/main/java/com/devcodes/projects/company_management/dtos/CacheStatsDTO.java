@@ -0,0 +1,17 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsDTO {
+    long hitCount;
+    long missCount;
+    long evictionCount;
+    long size;
+    double hitRate;
+}
@@ -0,0 +1,17 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    List<T> content;
+    // Id of the last row in this page, pass it back as ?after= to read the next page (null on the last page)
+    Long nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentAnalyticsDTO {
+    long departments;
+    // budget, revenue, quarterlyLoss, balanceAdjustment, employeeCount, priority
+    Map<String, MetricSummaryDTO> metrics;
+    // Keyed by the column value, "none" for departments where it is null
+    Map<String, GroupSummaryDTO> byIsActive;
+    Map<String, GroupSummaryDTO> byPriority;
+    Map<String, GroupSummaryDTO> byEstablishedYear;
+    // salary and bonus over all employees
+    Map<String, MetricSummaryDTO> employees;
+    // False while the startup load is still running, the figures then only cover part of the rows
+    boolean complete;
+}
@@ -0,0 +1,22 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentChangesDTO {
+    // Departments created or updated since the token, in their current state
+    List<DepartmentDTO> changed;
+    // Ids of the departments deleted since the token
+    List<Long> deleted;
+    // Pass as ?since= on the next poll
+    String nextToken;
+    // The page was full, poll again with nextToken right away instead of waiting
+    boolean hasMore;
+}
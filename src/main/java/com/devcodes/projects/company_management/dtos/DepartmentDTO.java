@@ -1,9 +1,15 @@
 package com.devcodes.projects.company_management.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.validator.constraints.Length;
 
 import java.time.Instant;
+import java.util.List;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Getter
@@ -12,7 +18,30 @@ import java.time.Instant;
 @NoArgsConstructor
 public class DepartmentDTO {
     Long id;
+    // Same structural checks as DepartmentEntity, run by @Valid on the request path
+    @NotBlank(message = "Title cannot be blank")
+    @Length(min = 3, max = 100, message = "Title must be between 3 and 100 characters")
     String title;
+    @NotNull(message = "Active status cannot be null")
     Boolean isActive;
+    // Server-owned, left out of PUT responses because the update does not read the row back
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     Instant createdAt;
+
+    // Sent as the ETag header, never in the body
+    @JsonIgnore
+    Long version;
+
+    // Only filled when requested with ?expand=, left out of the JSON otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long employeeCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<EmployeeSummaryDTO> employees;
+
+    public DepartmentDTO(Long id, String title, Boolean isActive, Instant createdAt) {
+        this.id = id;
+        this.title = title;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+    }
 }
@@ -0,0 +1,27 @@
+package com.devcodes.projects.company_management.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+// One entry of GET /departments/events, also sent as the SSE event id so a reconnect resumes after it
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentFeedEventDTO {
+    public static final String UPSERTED = "UPSERTED";
+    public static final String DELETED = "DELETED";
+
+    long offset;
+    // Only subscribers of this tenant receive the event
+    @JsonIgnore
+    String tenantId;
+    Long departmentId;
+    // UPSERTED (read the department for its current state) or DELETED
+    String type;
+    LocalDateTime occurredAt;
+}
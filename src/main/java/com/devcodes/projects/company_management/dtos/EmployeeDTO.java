@@ -0,0 +1,43 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeDTO {
+    Long id;
+    String name;
+    String bio;
+    String employeeId;
+    String email;
+    String linkedInProfile;
+    Integer age;
+    BigDecimal salary;
+    BigDecimal monthlyDeduction;
+    BigDecimal accountBalance;
+    BigDecimal bonus;
+    Integer performanceRating;
+    LocalDate dob;
+    LocalDate dateOfHire;
+    LocalDateTime lastLogin;
+    LocalDate contractEndDate;
+    LocalDate nextReviewDate;
+    List<String> skills;
+    String terminationReason;
+    String creditCardNumber;
+    Boolean isPermanent;
+    Boolean isVerified;
+    Boolean isOnLeave;
+    String phoneNumber;
+    List<String> addressList;
+    Long departmentId;
+}
@@ -0,0 +1,26 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Query parameters of GET /employees, every filter is optional and they are combined with AND
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFilterDTO {
+    Long departmentId;
+    Integer performanceRating;
+    BigDecimal minSalary;
+    BigDecimal maxSalary;
+    Boolean isPermanent;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate hiredFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate hiredTo;
+}
@@ -0,0 +1,18 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// Compact employee view embedded in department reads with ?expand=employees
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSummaryDTO {
+    Long id;
+    String name;
+    String employeeId;
+    String email;
+    Integer performanceRating;
+}
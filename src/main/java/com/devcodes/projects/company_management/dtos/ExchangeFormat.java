@@ -0,0 +1,36 @@
+package com.devcodes.projects.company_management.dtos;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+// File formats of the export and import endpoints, selected with ?format=
+public enum ExchangeFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    ExchangeFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ExchangeFormat fromParameter(String format) {
+        for (ExchangeFormat exchangeFormat : values()) {
+            if (exchangeFormat.fileExtension.equals(format.toLowerCase(Locale.ROOT))) {
+                return exchangeFormat;
+            }
+        }
+        throw new IllegalArgumentException("Format must be one of csv, ndjson");
+    }
+}
@@ -0,0 +1,21 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+// Department totals for one value of a group-by column
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupSummaryDTO {
+    long departments;
+    BigDecimal totalBudget;
+    BigDecimal averageBudget;
+    BigDecimal totalRevenue;
+    BigDecimal averageRevenue;
+    long totalEmployeeCount;
+}
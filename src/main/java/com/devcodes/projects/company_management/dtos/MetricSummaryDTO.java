@@ -0,0 +1,22 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+// Aggregate of one numeric column, percentiles are approximate (within 1%)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MetricSummaryDTO {
+    // Rows with a value, null columns are left out
+    long count;
+    BigDecimal sum;
+    BigDecimal average;
+    BigDecimal p50;
+    BigDecimal p90;
+    BigDecimal p99;
+}
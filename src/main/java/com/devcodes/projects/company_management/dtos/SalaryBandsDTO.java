@@ -0,0 +1,24 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Salary distribution of the employees of one department
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryBandsDTO {
+    Long departmentId;
+    long employees;
+    BigDecimal totalSalary;
+    // Over the employees that have a salary
+    BigDecimal averageSalary;
+    BigDecimal totalBonus;
+    // Employees per band, keyed "lower-upper" with the lower bound inclusive, in ascending order
+    Map<String, Long> bands;
+}
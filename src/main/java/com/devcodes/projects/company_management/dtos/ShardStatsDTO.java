@@ -0,0 +1,22 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShardStatsDTO {
+    String shard;
+    long tenantCount;
+    long departmentCount;
+    long employeeCount;
+    // Round trip of the counting queries just now
+    double probeMillis;
+    // Department and employee requests served by this shard since startup
+    long requestCount;
+    double meanRequestMillis;
+    double maxRequestMillis;
+}
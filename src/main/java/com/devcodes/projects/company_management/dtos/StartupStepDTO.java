@@ -0,0 +1,22 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StartupStepDTO {
+    long id;
+    Long parentId;
+    String name;
+    // e.g. beanName for spring.beans.instantiate
+    Map<String, String> tags;
+    // Since the start of the application
+    double startMillis;
+    double durationMillis;
+}
@@ -0,0 +1,17 @@
+package com.devcodes.projects.company_management.dtos;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StartupTimelineDTO {
+    // From SpringApplication.run until the application was ready
+    double timeToReadyMillis;
+    List<StartupStepDTO> steps;
+}
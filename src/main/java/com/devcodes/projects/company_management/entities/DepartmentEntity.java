@@ -1,18 +1,31 @@
 package com.devcodes.projects.company_management.entities;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.validator.constraints.*;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -20,13 +33,31 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "departments")
+// The lastUpdated index serves GET /departments/changes; keep these in step with db/migration
+@Table(name = "departments", indexes = {
+        @Index(name = "idx_departments_tenant_id", columnList = "tenantId, id"),
+        @Index(name = "idx_departments_last_updated", columnList = "lastUpdated"),
+        @Index(name = "idx_departments_department_code", columnList = "departmentCode"),
+        @Index(name = "idx_departments_title", columnList = "title"),
+        @Index(name = "idx_departments_is_active", columnList = "isActive")
+})
 @Entity
 public class DepartmentEntity {
+    // Pooled sequence: one round-trip hands out 50 ids, which lets Hibernate batch the inserts
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_seq")
+    @SequenceGenerator(name = "department_seq", sequenceName = "departments_seq", allocationSize = 50)
     Long id;
 
+    // Owning tenant, filled in by Hibernate on insert and added to every query (see sharding/TenantIdentifierResolver)
+    @TenantId
+    @Column(length = 64, nullable = false, updatable = false)
+    String tenantId;
+
+    // Incremented by Hibernate on every update, exposed to clients as the ETag
+    @Version
+    Long version;
+
     // @NotNull, @NotBlank, @Length, @Size examples
     @NotNull(message = "Title cannot be null")
     @NotBlank(message = "Title cannot be blank")
@@ -38,15 +69,15 @@ public class DepartmentEntity {
     String description;
 
     // @Pattern example for department code
-    @Pattern(regexp = "^DEPT-[A-Z0-9]{4}$", message = "Department code must be in format DEPT-XXXX")
+    @Pattern(regexp = "^DEPT-[A-Z0-9]{4}$", message = "Department code must be in format DEPT-XXXX", groups = FormatChecks.class)
     String departmentCode;
 
     // @Email example
-    @Email(message = "Contact email must be a valid email address")
+    @Email(message = "Contact email must be a valid email address", groups = FormatChecks.class)
     String contactEmail;
 
     // @URL example
-    @URL(message = "Website must be a valid URL")
+    @URL(message = "Website must be a valid URL", groups = FormatChecks.class)
     String website;
 
     // @NotNull, @AssertTrue, @AssertFalse examples
@@ -63,6 +94,7 @@ public class DepartmentEntity {
     @Min(value = 1, message = "Minimum employee count is 1")
     @Max(value = 1000, message = "Maximum employee count is 1000")
     @Positive(message = "Employee count must be positive")
+    // Legacy denormalized value, reads derive the count with an aggregate query (?expand=employeeCount)
     Integer employeeCount;
 
     // @DecimalMin, @DecimalMax, @Positive, @PositiveOrZero examples
@@ -86,11 +118,12 @@ public class DepartmentEntity {
     @Range(min = 1, max = 10, message = "Priority must be between 1 and 10")
     Integer priority;
 
-    // @Past, @PastOrPresent examples
+    // @Past example
     @Past(message = "Established date must be in the past")
     LocalDate establishedDate;
 
-    @PastOrPresent(message = "Last updated date must be in the past or present")
+    // Stamped in UTC on every insert and update, see touch(). Not checked against the clock: bean validation compares
+    // with the local time, which a UTC stamp is ahead of west of Greenwich
     LocalDateTime lastUpdated;
 
     // @Future, @FutureOrPresent examples
@@ -100,8 +133,11 @@ public class DepartmentEntity {
     @FutureOrPresent(message = "Next review date must be in the future or present")
     LocalDate nextReviewDate;
 
-    // @NotEmpty example for collections
+    // @NotEmpty example for collections; encoded into one column by StringListConverter
     @NotEmpty(message = "Manager names list cannot be empty")
+    @EncodedListSize(max = 4000, message = "Manager names must not exceed 4000 characters once encoded")
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 4000)
     List<String> managerNames;
 
     // @Null example - a field that should be null initially
@@ -109,8 +145,21 @@ public class DepartmentEntity {
     String deletionReason;
 
     // @CreditCardNumber example
-    @CreditCardNumber(message = "Payment card number must be a valid credit card number")
+    @CreditCardNumber(message = "Payment card number must be a valid credit card number", groups = FormatChecks.class)
     String paymentCardNumber;
 
     Instant createdAt;
-}
\ No newline at end of file
+
+    // Batch fetching: touching the employees of one department in a page loads them for up to 100 departments at once
+    @OneToMany(mappedBy = "department")
+    @BatchSize(size = 100)
+    List<EmployeeEntity> employees;
+
+    // UTC like the change tokens built from it, so they keep their order across daylight saving changes; truncated to
+    // the precision of the column so they compare exactly
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        lastUpdated = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,39 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+// One department change, written in the transaction of the change and removed once it reached the change feed
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "department_outbox")
+@Entity
+public class DepartmentOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "department_outbox_seq")
+    @SequenceGenerator(name = "department_outbox_seq", sequenceName = "department_outbox_seq", allocationSize = 50)
+    Long id;
+
+    Long departmentId;
+
+    // Tenant of the change. A plain column, not @TenantId: the dispatcher drains the entries of every tenant of a shard
+    @Column(length = 64, nullable = false)
+    String tenantId;
+
+    // UPSERTED or DELETED, see DepartmentFeedEventDTO
+    String changeType;
+
+    LocalDateTime createdAt;
+}
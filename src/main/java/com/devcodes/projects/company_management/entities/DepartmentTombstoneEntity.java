@@ -0,0 +1,38 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+// Left behind by every department delete so GET /departments/changes can report it
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "department_tombstones", indexes = {
+        @Index(name = "idx_department_tombstones_deleted_at", columnList = "deletedAt"),
+        @Index(name = "idx_department_tombstones_tenant_id", columnList = "tenantId, deletedAt")
+})
+@Entity
+public class DepartmentTombstoneEntity {
+    @Id
+    Long departmentId;
+
+    LocalDateTime deletedAt;
+
+    @TenantId
+    @Column(length = 64, nullable = false, updatable = false)
+    String tenantId;
+
+    public DepartmentTombstoneEntity(Long departmentId, LocalDateTime deletedAt) {
+        this.departmentId = departmentId;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,12 +1,21 @@
 package com.devcodes.projects.company_management.entities;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.validator.constraints.*;
 
 import java.math.BigDecimal;
@@ -19,13 +28,32 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "employees")
+// Indexes back the server-side filters of GET /employees, the department one also serves the keyset order by id;
+// keep them in step with db/migration
+@Table(name = "employees", indexes = {
+        @Index(name = "idx_employees_tenant_id", columnList = "tenantId, id"),
+        @Index(name = "idx_employees_department_id", columnList = "department_id, id"),
+        @Index(name = "idx_employees_employee_id", columnList = "employeeId"),
+        @Index(name = "idx_employees_email", columnList = "email"),
+        @Index(name = "idx_employees_name", columnList = "name"),
+        @Index(name = "idx_employees_performance_rating", columnList = "performanceRating"),
+        @Index(name = "idx_employees_salary", columnList = "salary"),
+        @Index(name = "idx_employees_is_permanent", columnList = "isPermanent"),
+        @Index(name = "idx_employees_date_of_hire", columnList = "dateOfHire")
+})
 @Entity
 public class EmployeeEntity {
+    // Pooled sequence: one round-trip hands out 50 ids, which lets Hibernate batch the inserts
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     Long id;
 
+    // Owning tenant, filled in by Hibernate on insert and added to every query (see sharding/TenantIdentifierResolver)
+    @TenantId
+    @Column(length = 64, nullable = false, updatable = false)
+    String tenantId;
+
     // @NotNull, @NotBlank, @Length, @Size examples
     @NotNull(message = "Name cannot be null")
     @NotBlank(message = "Name cannot be blank")
@@ -37,15 +65,15 @@ public class EmployeeEntity {
     String bio;
 
     // @Pattern example for employee ID
-    @Pattern(regexp = "^EMP-[0-9]{6}$", message = "Employee ID must be in format EMP-XXXXXX")
+    @Pattern(regexp = "^EMP-[0-9]{6}$", message = "Employee ID must be in format EMP-XXXXXX", groups = FormatChecks.class)
     String employeeId;
 
     // @Email example
-    @Email(message = "Email must be a valid email address")
+    @Email(message = "Email must be a valid email address", groups = FormatChecks.class)
     String email;
 
     // @URL example for LinkedIn profile
-    @URL(message = "LinkedIn profile must be a valid URL")
+    @URL(message = "LinkedIn profile must be a valid URL", groups = FormatChecks.class)
     String linkedInProfile;
 
     // @Min, @Max, @Positive, @PositiveOrZero examples
@@ -92,8 +120,11 @@ public class EmployeeEntity {
     @FutureOrPresent(message = "Next review date must be in the future or present")
     LocalDate nextReviewDate;
 
-    // @NotEmpty example for collections
+    // @NotEmpty example for collections; encoded into one column by StringListConverter
     @NotEmpty(message = "Skills list cannot be empty")
+    @EncodedListSize(max = 4000, message = "Skills must not exceed 4000 characters once encoded")
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 4000)
     List<String> skills;
 
     // @Null example - a field that should be null initially
@@ -101,7 +132,7 @@ public class EmployeeEntity {
     String terminationReason;
 
     // @CreditCardNumber example
-    @CreditCardNumber(message = "Credit card number must be a valid credit card number")
+    @CreditCardNumber(message = "Credit card number must be a valid credit card number", groups = FormatChecks.class)
     String creditCardNumber;
 
     // @NotNull, @AssertTrue, @AssertFalse examples
@@ -115,8 +146,16 @@ public class EmployeeEntity {
     Boolean isOnLeave;
 
     // @Pattern example for phone number
-    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be a valid international format")
+    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Phone number must be a valid international format", groups = FormatChecks.class)
     String phoneNumber;
 
+    // Stored in one column like skills, see StringListConverter
+    @EncodedListSize(max = 4000, message = "Address list must not exceed 4000 characters once encoded")
+    @Convert(converter = StringListConverter.class)
+    @Column(length = 4000)
     List<String> addressList;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    DepartmentEntity department;
 }
@@ -0,0 +1,29 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Length limit of a List&lt;String&gt; once {@link StringListConverter} has encoded it into one column. A list that
+ * passes @Size can still overflow the column after separators and escapes are added, and would then only fail when
+ * Hibernate flushes. Put it next to the @Column length it guards.
+ */
+@Documented
+@Constraint(validatedBy = EncodedListSizeValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EncodedListSize {
+    String message() default "List must not exceed {max} characters once encoded";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    int max();
+}
@@ -0,0 +1,23 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.List;
+
+// Encodes the list the way it will be written and compares the column value with the limit
+public class EncodedListSizeValidator implements ConstraintValidator<EncodedListSize, List<String>> {
+    private static final StringListConverter CONVERTER = new StringListConverter();
+
+    private int max;
+
+    @Override
+    public void initialize(EncodedListSize constraint) {
+        max = constraint.max();
+    }
+
+    @Override
+    public boolean isValid(List<String> values, ConstraintValidatorContext context) {
+        return values == null || CONVERTER.convertToDatabaseColumn(values).length() <= max;
+    }
+}
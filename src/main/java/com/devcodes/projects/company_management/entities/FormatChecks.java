@@ -0,0 +1,8 @@
+package com.devcodes.projects.company_management.entities;
+
+/**
+ * Validation group of the costly format constraints (regexes, e-mail, URL, Luhn check). They are left out of the
+ * Default group so updates only pay for them on the properties that actually changed, see EntityValidator.
+ */
+public interface FormatChecks {
+}
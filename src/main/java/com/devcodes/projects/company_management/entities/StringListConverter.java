@@ -0,0 +1,64 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores a List&lt;String&gt; in one column instead of a collection table, so the list is read with its row and not
+ * with an extra select and one row per element. Every element is written followed by the unit separator U+001F;
+ * a backslash or unit separator inside an element is escaped with a backslash. A list without elements is always the
+ * empty string: an empty or null list is written as '' and NULL reads as an empty list, like the collection tables
+ * these columns replaced. Null elements are stored as empty strings.
+ * db/migration/V3__compact_string_lists.sql writes the same encoding (V7 turns the NULLs it left into ''), keep the
+ * two in step. EncodedListSize checks the encoded length against the column.
+ */
+@Converter
+public class StringListConverter implements AttributeConverter<List<String>, String> {
+    private static final char SEPARATOR = '\u001F';
+    private static final char ESCAPE = '\\';
+
+    @Override
+    public String convertToDatabaseColumn(List<String> values) {
+        if (values == null) {
+            return "";
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (String value : values) {
+            if (value != null) {
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == SEPARATOR || c == ESCAPE) {
+                        encoded.append(ESCAPE);
+                    }
+                    encoded.append(c);
+                }
+            }
+            encoded.append(SEPARATOR);
+        }
+        return encoded.toString();
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String encoded) {
+        List<String> values = new ArrayList<>();
+        if (encoded == null) {
+            return values;
+        }
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == ESCAPE && i + 1 < encoded.length()) {
+                value.append(encoded.charAt(++i));
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,189 @@
+package com.devcodes.projects.company_management.events;
+
+import com.devcodes.projects.company_management.dtos.DepartmentFeedEventDTO;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process feed of department changes, filled by DepartmentOutboxService and served as server-sent events by
+ * GET /departments/events. The newest app.departments.events.buffer-size events stay in a ring buffer so a subscriber
+ * can resume after the last offset it saw. Offsets start at the boot time in microseconds and grow by one per event:
+ * an offset from an earlier run is older than the buffer, and resuming from it is answered with a "reset" event
+ * (re-sync with GET /departments/changes) instead of silently skipping changes.
+ * Every subscriber has its own sender thread with a cursor into the buffer: publishing only appends under the lock,
+ * senders copy their next events out under it and write to the socket without it, so a slow client only holds back
+ * itself. One that falls further behind than the buffer gets a "reset" and continues from the newest event.
+ * Offsets are shared by all tenants, a subscriber only receives the events of the tenant it subscribed as.
+ */
+@Component
+public class DepartmentChangeFeed {
+    public static final String CHANGE_EVENT = "department";
+    public static final String RESET_EVENT = "reset";
+    // Events a sender copies out of the buffer per round
+    private static final int SEND_BATCH_SIZE = 100;
+
+    private final ObjectMapper objectMapper;
+    private final DepartmentFeedEventDTO[] buffer;
+    private final long subscriberTimeoutMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private long nextOffset = System.currentTimeMillis() * 1000;
+    // Number of buffered events, the oldest of them has offset nextOffset - size
+    private int size;
+
+    public DepartmentChangeFeed(ObjectMapper objectMapper,
+                                @Value("${app.departments.events.buffer-size:10000}") int bufferSize,
+                                @Value("${app.departments.events.subscriber-timeout:30m}") Duration subscriberTimeout) {
+        this.objectMapper = objectMapper;
+        this.buffer = new DepartmentFeedEventDTO[bufferSize];
+        this.subscriberTimeoutMillis = subscriberTimeout.toMillis();
+    }
+
+    // Number the events in order, buffer them and wake the senders
+    public void publish(List<DepartmentFeedEventDTO> events) {
+        lock.lock();
+        try {
+            for (DepartmentFeedEventDTO event : events) {
+                event.setOffset(nextOffset);
+                buffer[(int) (nextOffset % buffer.length)] = event;
+                nextOffset++;
+                size = Math.min(size + 1, buffer.length);
+            }
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // New subscriber of the current tenant that first receives the buffered events after lastOffset (none when it is
+    // null), then live ones
+    public SseEmitter subscribe(Long lastOffset) {
+        return subscribe(lastOffset, new SseEmitter(subscriberTimeoutMillis));
+    }
+
+    SseEmitter subscribe(Long lastOffset, SseEmitter emitter) {
+        Subscriber subscriber;
+        lock.lock();
+        try {
+            boolean resumable = lastOffset != null && lastOffset >= nextOffset - size - 1 && lastOffset < nextOffset;
+            subscriber = new Subscriber(emitter, TenantContext.currentTenant(), resumable ? lastOffset + 1 : nextOffset);
+            subscriber.reset = lastOffset != null && !resumable;
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        Thread.ofVirtual().name("department-feed-sender").start(() -> deliver(subscriber));
+        return emitter;
+    }
+
+    // Sender of one subscriber, until it is closed or a send fails
+    private void deliver(Subscriber subscriber) {
+        List<DepartmentFeedEventDTO> batch = new ArrayList<>(SEND_BATCH_SIZE);
+        while (true) {
+            boolean reset;
+            long resetOffset;
+            lock.lock();
+            try {
+                while (!subscriber.closed && !subscriber.reset && subscriber.cursor == nextOffset) {
+                    published.await();
+                }
+                if (subscriber.closed) {
+                    return;
+                }
+                if (subscriber.cursor < nextOffset - size) {
+                    subscriber.reset = true;
+                }
+                reset = subscriber.reset;
+                subscriber.reset = false;
+                if (reset) {
+                    subscriber.cursor = nextOffset;
+                }
+                resetOffset = nextOffset - 1;
+                for (; subscriber.cursor < nextOffset && batch.size() < SEND_BATCH_SIZE; subscriber.cursor++) {
+                    DepartmentFeedEventDTO event = buffer[(int) (subscriber.cursor % buffer.length)];
+                    if (subscriber.tenant.equals(event.getTenantId())) {
+                        batch.add(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if ((reset && !sendReset(subscriber.emitter, resetOffset)) || !send(subscriber.emitter, batch)) {
+                close(subscriber);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        lock.lock();
+        try {
+            subscriber.closed = true;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Data is written as a JSON string so the ApiResponse envelope converter never touches feed events
+    private boolean send(SseEmitter emitter, List<DepartmentFeedEventDTO> events) {
+        try {
+            for (DepartmentFeedEventDTO event : events) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getOffset()))
+                        .name(CHANGE_EVENT)
+                        .data(objectMapper.writeValueAsString(event), MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // The next offset is no longer buffered: tell the client to re-sync and continue from the current offset
+    private boolean sendReset(SseEmitter emitter, long currentOffset) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(currentOffset))
+                    .name(RESET_EVENT)
+                    .data("Offset is no longer available, re-sync with GET /departments/changes"));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    // Fields other than the emitter and the tenant are guarded by the feed lock
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String tenant;
+        // Offset of the next event to look at
+        private long cursor;
+        // Send a reset before the next events
+        private boolean reset;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, String tenant, long cursor) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.devcodes.projects.company_management.events;
+
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by the service on every department write, inside the writing transaction when there is one.
+ * Carries ids only, listeners running after commit read the committed rows they need.
+ */
+public record DepartmentChangedEvent(Set<Long> upsertedIds, Set<Long> deletedIds) {
+
+    public static DepartmentChangedEvent upserted(Long id) {
+        return new DepartmentChangedEvent(Set.of(id), Set.of());
+    }
+
+    public static DepartmentChangedEvent deleted(Collection<Long> ids) {
+        return new DepartmentChangedEvent(Set.of(), Set.copyOf(ids));
+    }
+
+    // Created, updated and deleted items of one bulk chunk
+    public static DepartmentChangedEvent fromBulkResults(List<BulkItemResultDTO> results) {
+        Set<Long> upsertedIds = new HashSet<>();
+        Set<Long> deletedIds = new HashSet<>();
+        for (BulkItemResultDTO result : results) {
+            switch (result.getStatus()) {
+                case CREATED, UPDATED -> upsertedIds.add(result.getId());
+                case DELETED -> deletedIds.add(result.getId());
+                default -> {
+                }
+            }
+        }
+        return new DepartmentChangedEvent(upsertedIds, deletedIds);
+    }
+
+    public boolean isEmpty() {
+        return upsertedIds.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.devcodes.projects.company_management.events;
+
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by the service on every employee write, inside the writing transaction when there is one.
+ * Carries ids only, listeners running after commit read the committed rows they need.
+ */
+public record EmployeeChangedEvent(Set<Long> upsertedIds, Set<Long> deletedIds) {
+
+    public static EmployeeChangedEvent upserted(Long id) {
+        return new EmployeeChangedEvent(Set.of(id), Set.of());
+    }
+
+    public static EmployeeChangedEvent deleted(Collection<Long> ids) {
+        return new EmployeeChangedEvent(Set.of(), Set.copyOf(ids));
+    }
+
+    // Created, updated and deleted items of one bulk chunk
+    public static EmployeeChangedEvent fromBulkResults(List<BulkItemResultDTO> results) {
+        Set<Long> upsertedIds = new HashSet<>();
+        Set<Long> deletedIds = new HashSet<>();
+        for (BulkItemResultDTO result : results) {
+            switch (result.getStatus()) {
+                case CREATED, UPDATED -> upsertedIds.add(result.getId());
+                case DELETED -> deletedIds.add(result.getId());
+                default -> {
+                }
+            }
+        }
+        return new EmployeeChangedEvent(upsertedIds, deletedIds);
+    }
+
+    public boolean isEmpty() {
+        return upsertedIds.isEmpty() && deletedIds.isEmpty();
+    }
+}
@@ -0,0 +1,7 @@
+package com.devcodes.projects.company_management.exceptions;
+
+public class GoneException extends RuntimeException {
+    public GoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.devcodes.projects.company_management.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.devcodes.projects.company_management.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that takes a JdbcConcurrencyGate permit before borrowing a connection and gives it back when the
+ * connection is closed (returned to the pool).
+ */
+public class GatedDataSource extends DelegatingDataSource {
+    private final JdbcConcurrencyGate gate;
+
+    public GatedDataSource(DataSource targetDataSource, JdbcConcurrencyGate gate) {
+        super(targetDataSource);
+        this.gate = gate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        gate.acquire();
+        try {
+            return gated(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            gate.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        gate.acquire();
+        try {
+            return gated(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            gate.release();
+            throw e;
+        }
+    }
+
+    private Connection gated(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                gate.release();
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
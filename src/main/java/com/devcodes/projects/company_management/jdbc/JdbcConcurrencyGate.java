@@ -0,0 +1,72 @@
+package com.devcodes.projects.company_management.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fair semaphore in front of the connection pool.
+ * With virtual threads there is no request thread limit any more, so thousands of requests could pile up inside the
+ * pool; the gate keeps at most one waiter per pooled connection active and parks everybody else cheaply in FIFO order.
+ */
+public class JdbcConcurrencyGate implements MeterBinder {
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Duration acquireTimeout;
+    private volatile Timer waitTimer;
+
+    public JdbcConcurrencyGate(int maxPermits, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for the JDBC gate", e);
+        }
+        Timer timer = waitTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("Timed out after " + acquireTimeout + " waiting for the JDBC gate");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("jdbc.gate.wait")
+                .description("Time spent waiting for a JDBC gate permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("jdbc.gate.in.use", this, JdbcConcurrencyGate::getInUse)
+                .description("Permits currently held, at most one per pooled connection")
+                .register(registry);
+        Gauge.builder("jdbc.gate.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads parked on the gate")
+                .register(registry);
+        Gauge.builder("jdbc.gate.max", this, gate -> gate.maxPermits)
+                .register(registry);
+    }
+}
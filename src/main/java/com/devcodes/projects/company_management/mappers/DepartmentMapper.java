@@ -0,0 +1,46 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.repositories.DepartmentRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts between DepartmentEntity and DepartmentDTO.
+ * The implementation is picked in MapperConfig through the app.mapper.department property.
+ */
+public interface DepartmentMapper {
+
+    DepartmentDTO toDto(DepartmentEntity departmentEntity);
+
+    DepartmentEntity toEntity(DepartmentDTO departmentDTO);
+
+    // Copy every field of the DTO except the id onto an existing (usually managed) entity
+    void updateEntity(DepartmentDTO departmentDTO, DepartmentEntity departmentEntity);
+
+    // List rows carry exactly the DTO columns, every implementation maps them the same way
+    default DepartmentDTO toDto(DepartmentRow departmentRow) {
+        DepartmentDTO departmentDTO = new DepartmentDTO(departmentRow.id(), departmentRow.title(),
+                departmentRow.isActive(), departmentRow.createdAt());
+        departmentDTO.setVersion(departmentRow.version());
+        return departmentDTO;
+    }
+
+    default List<DepartmentDTO> toDtoList(List<DepartmentEntity> departmentEntities) {
+        List<DepartmentDTO> departmentDTOs = new ArrayList<>(departmentEntities.size());
+        for (DepartmentEntity departmentEntity : departmentEntities) {
+            departmentDTOs.add(toDto(departmentEntity));
+        }
+        return departmentDTOs;
+    }
+
+    default List<DepartmentDTO> toDtoListFromRows(List<DepartmentRow> departmentRows) {
+        List<DepartmentDTO> departmentDTOs = new ArrayList<>(departmentRows.size());
+        for (DepartmentRow departmentRow : departmentRows) {
+            departmentDTOs.add(toDto(departmentRow));
+        }
+        return departmentDTOs;
+    }
+}
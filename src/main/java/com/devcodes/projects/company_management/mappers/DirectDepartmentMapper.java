@@ -0,0 +1,44 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+
+/**
+ * Plain field-by-field copy with no reflection and no type-map lookups.
+ * Keep it in sync with the fields of DepartmentDTO.
+ */
+public class DirectDepartmentMapper implements DepartmentMapper {
+
+    @Override
+    public DepartmentDTO toDto(DepartmentEntity departmentEntity) {
+        if (departmentEntity == null) {
+            return null;
+        }
+        DepartmentDTO departmentDTO = new DepartmentDTO(
+                departmentEntity.getId(),
+                departmentEntity.getTitle(),
+                departmentEntity.getIsActive(),
+                departmentEntity.getCreatedAt());
+        departmentDTO.setVersion(departmentEntity.getVersion());
+        return departmentDTO;
+    }
+
+    @Override
+    public DepartmentEntity toEntity(DepartmentDTO departmentDTO) {
+        if (departmentDTO == null) {
+            return null;
+        }
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        departmentEntity.setId(departmentDTO.getId());
+        departmentEntity.setCreatedAt(departmentDTO.getCreatedAt());
+        updateEntity(departmentDTO, departmentEntity);
+        return departmentEntity;
+    }
+
+    // createdAt is server-owned once the row exists, an update keeps the stored one
+    @Override
+    public void updateEntity(DepartmentDTO departmentDTO, DepartmentEntity departmentEntity) {
+        departmentEntity.setTitle(departmentDTO.getTitle());
+        departmentEntity.setIsActive(departmentDTO.getIsActive());
+    }
+}
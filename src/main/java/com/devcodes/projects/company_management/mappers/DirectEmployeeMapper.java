@@ -0,0 +1,108 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeSummaryDTO;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import com.devcodes.projects.company_management.repositories.EmployeeSummaryRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain field-by-field copy with no reflection, keep it in sync with the fields of EmployeeDTO.
+ * List fields are copied so the DTO never shares a collection with the persistence context.
+ */
+public class DirectEmployeeMapper implements EmployeeMapper {
+
+    @Override
+    public EmployeeDTO toDto(EmployeeEntity employeeEntity) {
+        if (employeeEntity == null) {
+            return null;
+        }
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        employeeDTO.setId(employeeEntity.getId());
+        employeeDTO.setName(employeeEntity.getName());
+        employeeDTO.setBio(employeeEntity.getBio());
+        employeeDTO.setEmployeeId(employeeEntity.getEmployeeId());
+        employeeDTO.setEmail(employeeEntity.getEmail());
+        employeeDTO.setLinkedInProfile(employeeEntity.getLinkedInProfile());
+        employeeDTO.setAge(employeeEntity.getAge());
+        employeeDTO.setSalary(employeeEntity.getSalary());
+        employeeDTO.setMonthlyDeduction(employeeEntity.getMonthlyDeduction());
+        employeeDTO.setAccountBalance(employeeEntity.getAccountBalance());
+        employeeDTO.setBonus(employeeEntity.getBonus());
+        employeeDTO.setPerformanceRating(employeeEntity.getPerformanceRating());
+        employeeDTO.setDob(employeeEntity.getDob());
+        employeeDTO.setDateOfHire(employeeEntity.getDateOfHire());
+        employeeDTO.setLastLogin(employeeEntity.getLastLogin());
+        employeeDTO.setContractEndDate(employeeEntity.getContractEndDate());
+        employeeDTO.setNextReviewDate(employeeEntity.getNextReviewDate());
+        employeeDTO.setSkills(copy(employeeEntity.getSkills()));
+        employeeDTO.setTerminationReason(employeeEntity.getTerminationReason());
+        employeeDTO.setCreditCardNumber(employeeEntity.getCreditCardNumber());
+        employeeDTO.setIsPermanent(employeeEntity.getIsPermanent());
+        employeeDTO.setIsVerified(employeeEntity.getIsVerified());
+        employeeDTO.setIsOnLeave(employeeEntity.getIsOnLeave());
+        employeeDTO.setPhoneNumber(employeeEntity.getPhoneNumber());
+        employeeDTO.setAddressList(copy(employeeEntity.getAddressList()));
+        // Reading the id of a lazy proxy does not initialize it
+        employeeDTO.setDepartmentId(employeeEntity.getDepartment() == null ? null : employeeEntity.getDepartment().getId());
+        return employeeDTO;
+    }
+
+    @Override
+    public EmployeeEntity toEntity(EmployeeDTO employeeDTO) {
+        if (employeeDTO == null) {
+            return null;
+        }
+        EmployeeEntity employeeEntity = new EmployeeEntity();
+        employeeEntity.setId(employeeDTO.getId());
+        updateEntity(employeeDTO, employeeEntity);
+        return employeeEntity;
+    }
+
+    @Override
+    public EmployeeSummaryDTO toSummary(EmployeeSummaryRow employeeSummaryRow) {
+        if (employeeSummaryRow == null) {
+            return null;
+        }
+        return new EmployeeSummaryDTO(
+                employeeSummaryRow.id(),
+                employeeSummaryRow.name(),
+                employeeSummaryRow.employeeId(),
+                employeeSummaryRow.email(),
+                employeeSummaryRow.performanceRating());
+    }
+
+    @Override
+    public void updateEntity(EmployeeDTO employeeDTO, EmployeeEntity employeeEntity) {
+        employeeEntity.setName(employeeDTO.getName());
+        employeeEntity.setBio(employeeDTO.getBio());
+        employeeEntity.setEmployeeId(employeeDTO.getEmployeeId());
+        employeeEntity.setEmail(employeeDTO.getEmail());
+        employeeEntity.setLinkedInProfile(employeeDTO.getLinkedInProfile());
+        employeeEntity.setAge(employeeDTO.getAge());
+        employeeEntity.setSalary(employeeDTO.getSalary());
+        employeeEntity.setMonthlyDeduction(employeeDTO.getMonthlyDeduction());
+        employeeEntity.setAccountBalance(employeeDTO.getAccountBalance());
+        employeeEntity.setBonus(employeeDTO.getBonus());
+        employeeEntity.setPerformanceRating(employeeDTO.getPerformanceRating());
+        employeeEntity.setDob(employeeDTO.getDob());
+        employeeEntity.setDateOfHire(employeeDTO.getDateOfHire());
+        employeeEntity.setLastLogin(employeeDTO.getLastLogin());
+        employeeEntity.setContractEndDate(employeeDTO.getContractEndDate());
+        employeeEntity.setNextReviewDate(employeeDTO.getNextReviewDate());
+        employeeEntity.setSkills(copy(employeeDTO.getSkills()));
+        employeeEntity.setTerminationReason(employeeDTO.getTerminationReason());
+        employeeEntity.setCreditCardNumber(employeeDTO.getCreditCardNumber());
+        employeeEntity.setIsPermanent(employeeDTO.getIsPermanent());
+        employeeEntity.setIsVerified(employeeDTO.getIsVerified());
+        employeeEntity.setIsOnLeave(employeeDTO.getIsOnLeave());
+        employeeEntity.setPhoneNumber(employeeDTO.getPhoneNumber());
+        employeeEntity.setAddressList(copy(employeeDTO.getAddressList()));
+    }
+
+    private static List<String> copy(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+}
@@ -0,0 +1,33 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeSummaryDTO;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import com.devcodes.projects.company_management.repositories.EmployeeSummaryRow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts between EmployeeEntity and EmployeeDTO.
+ */
+public interface EmployeeMapper {
+
+    EmployeeDTO toDto(EmployeeEntity employeeEntity);
+
+    EmployeeEntity toEntity(EmployeeDTO employeeDTO);
+
+    EmployeeSummaryDTO toSummary(EmployeeSummaryRow employeeSummaryRow);
+
+    // Copy every field of the DTO except the id and the department onto an existing (usually managed) entity,
+    // the department reference is resolved by the service
+    void updateEntity(EmployeeDTO employeeDTO, EmployeeEntity employeeEntity);
+
+    default List<EmployeeDTO> toDtoList(List<EmployeeEntity> employeeEntities) {
+        List<EmployeeDTO> employeeDTOs = new ArrayList<>(employeeEntities.size());
+        for (EmployeeEntity employeeEntity : employeeEntities) {
+            employeeDTOs.add(toDto(employeeEntity));
+        }
+        return employeeDTOs;
+    }
+}
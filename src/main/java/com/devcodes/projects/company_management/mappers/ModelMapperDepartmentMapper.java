@@ -0,0 +1,49 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import org.modelmapper.ModelMapper;
+
+import java.time.Instant;
+
+/**
+ * Reflection based fallback, enabled with app.mapper.department=modelmapper.
+ */
+public class ModelMapperDepartmentMapper implements DepartmentMapper {
+    private final ModelMapper modelMapper;
+
+    public ModelMapperDepartmentMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+        // Expansions are filled by the service, never by matching property names (that would load the collection)
+        modelMapper.typeMap(DepartmentEntity.class, DepartmentDTO.class).addMappings(mapper -> {
+            mapper.skip(DepartmentDTO::setEmployees);
+            mapper.skip(DepartmentDTO::setEmployeeCount);
+        });
+        modelMapper.typeMap(DepartmentDTO.class, DepartmentEntity.class).addMappings(mapper -> {
+            mapper.skip(DepartmentEntity::setEmployees);
+            mapper.skip(DepartmentEntity::setEmployeeCount);
+            // The version only ever comes from the database
+            mapper.skip(DepartmentEntity::setVersion);
+        });
+    }
+
+    @Override
+    public DepartmentDTO toDto(DepartmentEntity departmentEntity) {
+        return departmentEntity == null ? null : modelMapper.map(departmentEntity, DepartmentDTO.class);
+    }
+
+    @Override
+    public DepartmentEntity toEntity(DepartmentDTO departmentDTO) {
+        return departmentDTO == null ? null : modelMapper.map(departmentDTO, DepartmentEntity.class);
+    }
+
+    // createdAt is server-owned once the row exists, an update keeps the stored one
+    @Override
+    public void updateEntity(DepartmentDTO departmentDTO, DepartmentEntity departmentEntity) {
+        Long id = departmentEntity.getId();
+        Instant createdAt = departmentEntity.getCreatedAt();
+        modelMapper.map(departmentDTO, departmentEntity);
+        departmentEntity.setId(id);
+        departmentEntity.setCreatedAt(createdAt);
+    }
+}
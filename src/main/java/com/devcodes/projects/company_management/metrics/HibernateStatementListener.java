@@ -0,0 +1,31 @@
+package com.devcodes.projects.company_management.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registered through hibernate.session.events.auto, Hibernate creates one instance per session.
+ * Counts and times the JDBC statements executed on the current thread into HibernateStatementStats.
+ */
+public class HibernateStatementListener implements SessionEventListener {
+    private long statementStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        HibernateStatementStats.record(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        HibernateStatementStats.record(System.nanoTime() - statementStart);
+    }
+}
@@ -0,0 +1,27 @@
+package com.devcodes.projects.company_management.metrics;
+
+/**
+ * Per-thread statement counter filled by HibernateStatementListener and reset/published per request by
+ * RequestMetricsInterceptor.
+ */
+public final class HibernateStatementStats {
+    private static final ThreadLocal<long[]> STATS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private HibernateStatementStats() {
+    }
+
+    static void record(long nanos) {
+        long[] stats = STATS.get();
+        stats[0]++;
+        stats[1] += nanos;
+    }
+
+    // Returns {statement count, total nanos} since the last call and starts counting from zero again
+    static long[] drain() {
+        long[] stats = STATS.get();
+        long[] snapshot = {stats[0], stats[1]};
+        stats[0] = 0;
+        stats[1] = 0;
+        return snapshot;
+    }
+}
@@ -0,0 +1,66 @@
+package com.devcodes.projects.company_management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per controller method, the handler latency (app.handler) and the number and total time of the Hibernate
+ * statements the request executed (hibernate.statements.per.request, hibernate.statement.time.per.request).
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HibernateStatementStats.drain();
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        long[] statements = HibernateStatementStats.drain();
+
+        Timer.builder("app.handler")
+                .description("Controller method latency")
+                .tag("controller", controller)
+                .tag("method", method)
+                .tag("status", Integer.toString(response.getStatus()))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .description("JDBC statements executed by Hibernate while handling one request")
+                .tag("controller", controller)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements[0]);
+        Timer.builder("hibernate.statement.time.per.request")
+                .description("Time spent executing Hibernate JDBC statements while handling one request")
+                .tag("controller", controller)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(statements[1], TimeUnit.NANOSECONDS);
+    }
+}
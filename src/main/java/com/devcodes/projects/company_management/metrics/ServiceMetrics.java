@@ -0,0 +1,44 @@
+package com.devcodes.projects.company_management.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times the phases of a service operation (repository, mapping, validation) as app.service.phase
+ * with operation and phase tags, so a slow endpoint can be broken down in Prometheus.
+ */
+@Component
+public class ServiceMetrics {
+    public static final String REPOSITORY = "repository";
+    public static final String MAPPING = "mapping";
+    public static final String VALIDATION = "validation";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String operation, String phase, Supplier<T> work) {
+        return timer(operation, phase).record(work);
+    }
+
+    public void time(String operation, String phase, Runnable work) {
+        timer(operation, phase).record(work);
+    }
+
+    private Timer timer(String operation, String phase) {
+        return timers.computeIfAbsent(operation + '.' + phase, key -> Timer.builder("app.service.phase")
+                .description("Time spent in one phase of a service operation")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
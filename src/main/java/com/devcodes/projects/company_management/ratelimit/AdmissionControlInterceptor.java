@@ -0,0 +1,147 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import com.devcodes.projects.company_management.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the department and employee controllers. Every request first takes a token from the
+ * bucket of its client and endpoint class, then writes and bulk requests must fit under the adaptive write limit of
+ * the {@link LoadShedder} while reads are measured against the SLO. Rejections surface as TooManyRequestsException,
+ * which GlobalExceptionHandler turns into 429 with Retry-After.
+ * Clients are told apart by their remote address. The app.rate-limit.client-header is only believed on requests that
+ * come from one of the app.rate-limit.trusted-proxies, which set it for the client behind them; from anywhere else a
+ * client could pick a fresh value for every request and never run out of tokens.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+    private static final String ADMITTED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".admitted";
+    private static final String START_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".start";
+    // Shed writes are retried after about one adjustment window
+    private static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    private final Map<EndpointClass, RateLimit> rateLimits;
+    private final LoadShedder loadShedder;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    // Idle buckets are full again, so dropping them after a while loses nothing
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Map<EndpointClass, Counter> rateLimitedCounters = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Counter> shedCounters = new ConcurrentHashMap<>();
+
+    public record RateLimit(double tokensPerSecond, int burst) {
+    }
+
+    private record BucketKey(String client, EndpointClass endpointClass) {
+    }
+
+    public AdmissionControlInterceptor(Map<EndpointClass, RateLimit> rateLimits, LoadShedder loadShedder,
+                                       String clientHeader, Set<String> trustedProxies, long maximumClients, Duration idleTimeout) {
+        this.rateLimits = rateLimits;
+        this.loadShedder = loadShedder;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch that completes an async request was admitted with the original one
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        EndpointClass endpointClass = EndpointClass.of(request);
+        long now = System.nanoTime();
+        RateLimit rateLimit = rateLimits.get(endpointClass);
+        long waitNanos = buckets
+                .get(new BucketKey(clientOf(request), endpointClass), key -> new TokenBucket(rateLimit.tokensPerSecond(), rateLimit.burst(), now))
+                .tryAcquire(now);
+        if (waitNanos > 0) {
+            increment(rateLimitedCounters, endpointClass);
+            throw new TooManyRequestsException("Rate limit exceeded for " + endpointClass.name().toLowerCase() + " requests",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        if (endpointClass == EndpointClass.READ) {
+            loadShedder.startRead();
+            request.setAttribute(START_ATTRIBUTE, now);
+        } else if (!loadShedder.tryStartWrite()) {
+            increment(shedCounters, endpointClass);
+            throw new TooManyRequestsException("Server is shedding write load to keep reads responsive", SHED_RETRY_AFTER_SECONDS);
+        }
+        request.setAttribute(ADMITTED_ATTRIBUTE, endpointClass);
+        return true;
+    }
+
+    // Streams and SSE subscriptions outlive the request thread; they stop counting as in flight here
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) instanceof EndpointClass endpointClass) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            if (endpointClass == EndpointClass.READ) {
+                loadShedder.abandonRead();
+            } else {
+                loadShedder.endWrite();
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) instanceof EndpointClass endpointClass) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            if (endpointClass == EndpointClass.READ && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+                loadShedder.endRead(System.nanoTime() - start);
+            } else if (endpointClass != EndpointClass.READ) {
+                loadShedder.endWrite();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase();
+            rateLimitedCounters.put(endpointClass, Counter.builder("app.admission.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("class", tag)
+                    .tag("reason", "rate_limit")
+                    .register(registry));
+            shedCounters.put(endpointClass, Counter.builder("app.admission.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("class", tag)
+                    .tag("reason", "shed")
+                    .register(registry));
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (clientHeader.isEmpty() || !trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String client = request.getHeader(clientHeader);
+        return client != null && !client.isBlank() ? client : remoteAddress;
+    }
+
+    private static void increment(Map<EndpointClass, Counter> counters, EndpointClass endpointClass) {
+        Counter counter = counters.get(endpointClass);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
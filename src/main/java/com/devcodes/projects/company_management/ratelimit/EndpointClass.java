@@ -0,0 +1,20 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Rate limits and shedding are applied per class of endpoint, so a write burst cannot use up the read allowance
+public enum EndpointClass {
+    READ,
+    WRITE,
+    // Bulk writes, imports and full-table exports
+    BULK;
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.endsWith("/bulk") || path.endsWith("/import") || path.endsWith("/export")) {
+            return BULK;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method) ? READ : WRITE;
+    }
+}
@@ -0,0 +1,106 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit for writes that protects the read latency SLO. Reads are always admitted and measured:
+ * the p99 of a window is above the SLO exactly when more than 1% of its reads took longer than the SLO, so only two
+ * counters are needed. At the end of every window the write limit is cut by a quarter when the SLO was missed and
+ * raised by one otherwise (AIMD), between the configured bounds; a write arriving while the limit is in flight is shed.
+ */
+public class LoadShedder implements MeterBinder {
+    // Below this many reads in a window the p99 is not trusted and the limit is not cut
+    private static final int MIN_WINDOW_READS = 20;
+    private static final double SLO_QUANTILE = 0.99;
+
+    private final long readSloNanos;
+    private final long windowNanos;
+    private final int minWriteLimit;
+    private final int maxWriteLimit;
+    private final AtomicInteger writeLimit;
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private final AtomicInteger readsInFlight = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private final AtomicLong windowReads = new AtomicLong();
+    private final AtomicLong windowSlowReads = new AtomicLong();
+
+    public LoadShedder(Duration readSlo, Duration window, int minWriteLimit, int maxWriteLimit) {
+        this.readSloNanos = readSlo.toNanos();
+        this.windowNanos = window.toNanos();
+        this.minWriteLimit = minWriteLimit;
+        this.maxWriteLimit = maxWriteLimit;
+        this.writeLimit = new AtomicInteger(maxWriteLimit);
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    // False when the write has to be shed
+    public boolean tryStartWrite() {
+        while (true) {
+            int inFlight = writesInFlight.get();
+            if (inFlight >= writeLimit.get()) {
+                return false;
+            }
+            if (writesInFlight.compareAndSet(inFlight, inFlight + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void endWrite() {
+        writesInFlight.decrementAndGet();
+        maybeAdjust(System.nanoTime());
+    }
+
+    public void startRead() {
+        readsInFlight.incrementAndGet();
+    }
+
+    public void endRead(long latencyNanos) {
+        readsInFlight.decrementAndGet();
+        windowReads.incrementAndGet();
+        if (latencyNanos > readSloNanos) {
+            windowSlowReads.incrementAndGet();
+        }
+        maybeAdjust(System.nanoTime());
+    }
+
+    // A read that turned into a long-lived stream leaves the in-flight count without a latency sample
+    public void abandonRead() {
+        readsInFlight.decrementAndGet();
+    }
+
+    public int getWriteLimit() {
+        return writeLimit.get();
+    }
+
+    // Exactly one caller per window wins the compare-and-set and moves the limit
+    private void maybeAdjust(long nowNanos) {
+        long start = windowStart.get();
+        if (nowNanos - start < windowNanos || !windowStart.compareAndSet(start, nowNanos)) {
+            return;
+        }
+        long reads = windowReads.getAndSet(0);
+        long slowReads = windowSlowReads.getAndSet(0);
+        boolean sloMissed = reads >= MIN_WINDOW_READS && slowReads > reads * (1 - SLO_QUANTILE);
+        writeLimit.updateAndGet(limit -> sloMissed
+                ? Math.max(minWriteLimit, limit - Math.max(1, limit / 4))
+                : Math.min(maxWriteLimit, limit + 1));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.shedding.write.limit", writeLimit, AtomicInteger::get)
+                .description("Writes admitted concurrently, lowered while reads miss their p99 SLO")
+                .register(registry);
+        Gauge.builder("app.shedding.writes.in.flight", writesInFlight, AtomicInteger::get)
+                .register(registry);
+        Gauge.builder("app.shedding.reads.in.flight", readsInFlight, AtomicInteger::get)
+                .register(registry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket refilled at a fixed rate up to a burst capacity. Instead of a token count it keeps the
+ * time at which the bucket will be full again (the generic cell rate algorithm), so taking a token is a single
+ * compare-and-set on one long and the bucket needs no refill timer. Times are System.nanoTime() values passed in
+ * by the caller.
+ */
+public class TokenBucket {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    // Time at which every token taken so far will have been refilled; not after "now" means the bucket is full
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        if (tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and a burst of at least 1");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    // Takes a token and returns 0, or leaves the bucket untouched and returns the nanoseconds until one is available
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos < 0 ? nowNanos : current) + nanosPerToken;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.devcodes.projects.company_management.repositories;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// A list row of GET /departments/changes with the lastUpdated it is ordered and continued by
+public record DepartmentChangeRow(Long id, Long version, String title, Boolean isActive, Instant createdAt, LocalDateTime lastUpdated) {
+
+    public DepartmentRow row() {
+        return new DepartmentRow(id, version, title, isActive, createdAt);
+    }
+}
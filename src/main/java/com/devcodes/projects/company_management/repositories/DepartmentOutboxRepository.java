@@ -0,0 +1,15 @@
+package com.devcodes.projects.company_management.repositories;
+
+import com.devcodes.projects.company_management.entities.DepartmentOutboxEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentOutboxRepository extends JpaRepository<DepartmentOutboxEntity, Long> {
+
+    // Oldest pending entries first, ids only approximate commit order so the dispatcher never skips past a gap
+    List<DepartmentOutboxEntity> findAllByOrderByIdAsc(Limit limit);
+}
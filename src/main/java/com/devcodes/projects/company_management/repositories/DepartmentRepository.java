@@ -1,10 +1,98 @@
 package com.devcodes.projects.company_management.repositories;
 
 import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface DepartmentRepository extends JpaRepository<DepartmentEntity, Long> {
 
+    // Keyset page: the next `limit` departments with an id strictly greater than the cursor, as list rows
+    @Query("select new com.devcodes.projects.company_management.repositories.DepartmentRow(d.id, d.version, d.title, d.isActive, d.createdAt) "
+            + "from DepartmentEntity d where d.id > :afterId order by d.id")
+    List<DepartmentRow> findRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Forward-only cursor over the list rows of the whole table, must be consumed inside a transaction and closed.
+    // Rows are not entities, so nothing accumulates in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.devcodes.projects.company_management.repositories.DepartmentRow(d.id, d.version, d.title, d.isActive, d.createdAt) "
+            + "from DepartmentEntity d order by d.id")
+    Stream<DepartmentRow> streamRows();
+
+    // List row of one department
+    @Query("select new com.devcodes.projects.company_management.repositories.DepartmentRow(d.id, d.version, d.title, d.isActive, d.createdAt) "
+            + "from DepartmentEntity d where d.id = :id")
+    Optional<DepartmentRow> findRowById(@Param("id") Long id);
+
+    // List rows of the given departments, in no particular order
+    @Query("select new com.devcodes.projects.company_management.repositories.DepartmentRow(d.id, d.version, d.title, d.isActive, d.createdAt) "
+            + "from DepartmentEntity d where d.id in :ids")
+    List<DepartmentRow> findRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Which of the given ids exist, used by bulk deletes to report missing rows without loading entities
+    @Query("select d.id from DepartmentEntity d where d.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Searchable columns (id, title, departmentCode) of every department, read once to build the search index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select d.id, d.title, d.departmentCode from DepartmentEntity d")
+    Stream<Object[]> streamSearchFields();
+
+    // Searchable columns of the given departments, used to update the search index after a write
+    @Query("select d.id, d.title, d.departmentCode from DepartmentEntity d where d.id in :ids")
+    List<Object[]> findSearchFields(@Param("ids") Collection<Long> ids);
+
+    // Aggregated columns (id, isActive, priority, establishedDate, budget, revenue, quarterlyLoss, balanceAdjustment)
+    // of every department, read once to build the analytics
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select d.id, d.isActive, d.priority, d.establishedDate, d.budget, d.revenue, d.quarterlyLoss, d.balanceAdjustment from DepartmentEntity d")
+    Stream<Object[]> streamAnalyticsFields();
+
+    // Aggregated columns of the given departments, used to update the analytics after a write
+    @Query("select d.id, d.isActive, d.priority, d.establishedDate, d.budget, d.revenue, d.quarterlyLoss, d.balanceAdjustment from DepartmentEntity d where d.id in :ids")
+    List<Object[]> findAnalyticsFields(@Param("ids") Collection<Long> ids);
+
+    // Version of one department without loading it, enough to answer If-None-Match
+    @Query("select d.version from DepartmentEntity d where d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Id and version of every department of a keyset page, enough to compute the page ETag
+    @Query("select d.id, d.version from DepartmentEntity d where d.id > :afterId order by d.id")
+    List<Object[]> findVersionsPage(@Param("afterId") Long afterId, Limit limit);
+
+    // Full update of the client-editable columns in one statement, bumping the version like Hibernate would.
+    // createdAt is server-owned and never written here. With a version only the row still at that version is
+    // updated; returns the number of updated rows
+    @Modifying
+    @Query("update DepartmentEntity d set d.title = :title, d.isActive = :isActive, "
+            + "d.lastUpdated = :lastUpdated, d.version = coalesce(d.version, 0) + 1 "
+            + "where d.id = :id and (:version is null or d.version = :version)")
+    int updateDetails(@Param("id") Long id, @Param("version") Long version, @Param("title") String title,
+                      @Param("isActive") Boolean isActive, @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    // Keyset page of the departments inserted or updated after (since, afterId) and before until, in (lastUpdated, id) order
+    @Query("select new com.devcodes.projects.company_management.repositories.DepartmentChangeRow(d.id, d.version, d.title, d.isActive, d.createdAt, d.lastUpdated) "
+            + "from DepartmentEntity d where (d.lastUpdated > :since or (d.lastUpdated = :since and d.id > :afterId)) "
+            + "and d.lastUpdated < :until order by d.lastUpdated, d.id")
+    List<DepartmentChangeRow> findChangesPage(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                              @Param("until") LocalDateTime until, Limit limit);
 }
@@ -0,0 +1,7 @@
+package com.devcodes.projects.company_management.repositories;
+
+import java.time.Instant;
+
+// The columns behind DepartmentDTO (plus the version for ETags), selected by the list reads instead of the whole row
+public record DepartmentRow(Long id, Long version, String title, Boolean isActive, Instant createdAt) {
+}
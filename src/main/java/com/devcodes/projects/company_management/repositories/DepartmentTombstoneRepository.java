@@ -0,0 +1,27 @@
+package com.devcodes.projects.company_management.repositories;
+
+import com.devcodes.projects.company_management.entities.DepartmentTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DepartmentTombstoneRepository extends JpaRepository<DepartmentTombstoneEntity, Long> {
+
+    // Keyset page of the tombstones left after (since, afterId) and before until, in (deletedAt, departmentId) order
+    @Query("select t from DepartmentTombstoneEntity t where (t.deletedAt > :since or (t.deletedAt = :since and t.departmentId > :afterId)) "
+            + "and t.deletedAt < :until order by t.deletedAt, t.departmentId")
+    List<DepartmentTombstoneEntity> findDeletionsPage(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                      @Param("until") LocalDateTime until, Limit limit);
+
+    // Remove the tombstones of every tenant deleted before the given time. Native, so the current tenant does not restrict it
+    @Modifying
+    @Query(value = "delete from department_tombstones where deleted_at < :before", nativeQuery = true)
+    int deleteAllDeletedBefore(@Param("before") LocalDateTime before);
+}
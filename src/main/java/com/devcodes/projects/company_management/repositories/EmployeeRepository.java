@@ -1,10 +1,72 @@
 package com.devcodes.projects.company_management.repositories;
 
 import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long> {
+public interface EmployeeRepository extends JpaRepository<EmployeeEntity, Long>, EmployeeRepositoryCustom {
+
+    // Forward-only cursor over the whole table, must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from EmployeeEntity e order by e.id")
+    Stream<EmployeeEntity> streamAll();
+
+    // Which of the given ids exist, used by bulk deletes to report missing rows without loading entities
+    @Query("select e.id from EmployeeEntity e where e.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Which of the given departments still have employees, their rows cannot be deleted
+    @Query("select distinct e.department.id from EmployeeEntity e where e.department.id in :departmentIds")
+    List<Long> findReferencedDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // Head count per department in one grouped query, departments without employees are absent from the result
+    @Query("select e.department.id, count(e) from EmployeeEntity e where e.department.id in :departmentIds group by e.department.id")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // Summary rows of the employees of the given departments, ordered by id
+    @Query("select new com.devcodes.projects.company_management.repositories.EmployeeSummaryRow(e.id, e.department.id, e.name, e.employeeId, e.email, e.performanceRating) "
+            + "from EmployeeEntity e where e.department.id in :departmentIds order by e.id")
+    List<EmployeeSummaryRow> findSummariesByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // Summary rows of the given employees, in no particular order
+    @Query("select new com.devcodes.projects.company_management.repositories.EmployeeSummaryRow(e.id, e.department.id, e.name, e.employeeId, e.email, e.performanceRating) "
+            + "from EmployeeEntity e where e.id in :ids")
+    List<EmployeeSummaryRow> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Searchable columns (id, name, email, skills list) of every employee, read once to build the search index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.id, e.name, e.email, e.skills from EmployeeEntity e")
+    Stream<Object[]> streamSearchFields();
+
+    // Searchable columns of the given employees, used to update the search index after a write
+    @Query("select e.id, e.name, e.email, e.skills from EmployeeEntity e where e.id in :ids")
+    List<Object[]> findSearchFields(@Param("ids") Collection<Long> ids);
+
+    // Aggregated columns (id, department id, salary, bonus) of every employee, read once to build the analytics
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e.id, e.department.id, e.salary, e.bonus from EmployeeEntity e")
+    Stream<Object[]> streamAnalyticsFields();
 
+    // Aggregated columns of the given employees, used to update the analytics after a write
+    @Query("select e.id, e.department.id, e.salary, e.bonus from EmployeeEntity e where e.id in :ids")
+    List<Object[]> findAnalyticsFields(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,12 @@
+package com.devcodes.projects.company_management.repositories;
+
+import com.devcodes.projects.company_management.dtos.EmployeeFilterDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EmployeeRepositoryCustom {
+
+    // Keyset page of employees matching the filter, selecting only the given columns (id is always included)
+    List<Map<String, Object>> findProjected(EmployeeFilterDTO filter, List<String> fields, Long afterId, int limit);
+}
@@ -0,0 +1,83 @@
+package com.devcodes.projects.company_management.repositories;
+
+import com.devcodes.projects.company_management.dtos.EmployeeFilterDTO;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria based projection query behind GET /employees.
+ * Only the requested columns are selected and no entity is instantiated, so the persistence context stays empty.
+ */
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProjected(EmployeeFilterDTO filter, List<String> fields, Long afterId, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<EmployeeEntity> employee = query.from(EmployeeEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        selections.add(employee.get("id").alias("id"));
+        for (String field : fields) {
+            if (!"id".equals(field)) {
+                selections.add(path(employee, field).alias(field));
+            }
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.greaterThan(employee.get("id"), afterId == null ? 0L : afterId));
+        if (filter.getDepartmentId() != null) {
+            predicates.add(criteriaBuilder.equal(employee.get("department").get("id"), filter.getDepartmentId()));
+        }
+        if (filter.getPerformanceRating() != null) {
+            predicates.add(criteriaBuilder.equal(employee.get("performanceRating"), filter.getPerformanceRating()));
+        }
+        if (filter.getMinSalary() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(employee.get("salary"), filter.getMinSalary()));
+        }
+        if (filter.getMaxSalary() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(employee.get("salary"), filter.getMaxSalary()));
+        }
+        if (filter.getIsPermanent() != null) {
+            predicates.add(criteriaBuilder.equal(employee.get("isPermanent"), filter.getIsPermanent()));
+        }
+        if (filter.getHiredFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(employee.get("dateOfHire"), filter.getHiredFrom()));
+        }
+        if (filter.getHiredTo() != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(employee.get("dateOfHire"), filter.getHiredTo()));
+        }
+
+        query.select(criteriaBuilder.tuple(selections))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(employee.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // departmentId reads the foreign key column, Hibernate does not join departments for it
+    private static Path<Object> path(Root<EmployeeEntity> employee, String field) {
+        return "departmentId".equals(field) ? employee.get("department").get("id") : employee.get(field);
+    }
+}
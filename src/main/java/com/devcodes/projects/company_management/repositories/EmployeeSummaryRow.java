@@ -0,0 +1,6 @@
+package com.devcodes.projects.company_management.repositories;
+
+// The columns behind EmployeeSummaryDTO plus the department they are grouped by, selected instead of the whole row
+public record EmployeeSummaryRow(Long id, Long departmentId, String name, String employeeId, String email,
+                                 Integer performanceRating) {
+}
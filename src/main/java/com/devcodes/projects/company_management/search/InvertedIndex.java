@@ -0,0 +1,369 @@
+package com.devcodes.projects.company_management.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from lowercase tokens to the ids of the documents containing them, for type-ahead search.
+ * Terms are kept sorted so the terms starting with a prefix are a range scan. Every term of FUZZY_MIN_LENGTH or more
+ * characters is also registered under each of its one-character deletions, so the terms within one edit of a query
+ * token are found with a few hash lookups instead of a scan of the vocabulary (symmetric delete).
+ * Searches share a read lock, put and remove take the write lock.
+ */
+public class InvertedIndex {
+    static final int FUZZY_MIN_LENGTH = 4;
+    private static final int MAX_QUERY_TOKENS = 8;
+    // Bounds the work of very short prefixes and very common terms, a type-ahead only shows the best few anyway
+    private static final int MAX_PREFIX_TERMS = 512;
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int FUZZY = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, List<String>> deletions = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    // Ids written through put/remove while a build is running, the build must not overwrite them with older rows
+    private Set<Long> writtenDuringBuild;
+
+    // Index or re-index a document from its searchable values
+    public void put(long id, Collection<String> values) {
+        List<String> terms = tokenize(values);
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringBuild != null) {
+                writtenDuringBuild.add(id);
+            }
+            replace(id, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringBuild != null) {
+                writtenDuringBuild.add(id);
+            }
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void beginBuild() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringBuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Index a document read by the build, unless a newer put or remove for it already happened
+    public void putFromBuild(long id, Collection<String> values) {
+        List<String> terms = tokenize(values);
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringBuild == null || !writtenDuringBuild.contains(id)) {
+                replace(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endBuild() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringBuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the documents matching every token of the query, best first. A token matches a term exactly, as a
+     * prefix, or (from FUZZY_MIN_LENGTH characters) within one insertion, deletion, substitution or transposition.
+     * Documents score the sum of their best match per token, ties are broken by id.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(List.of(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> tokenMatches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                TokenMatch tokenMatch = resolve(token);
+                if (tokenMatch.terms.isEmpty()) {
+                    return List.of();
+                }
+                tokenMatches.add(tokenMatch);
+            }
+            // Walk the postings of the most selective token and check the others against each candidate's terms
+            TokenMatch driver = Collections.min(tokenMatches, Comparator.comparingLong(tokenMatch -> tokenMatch.estimatedDocuments));
+            Map<Long, Integer> scores = new HashMap<>();
+            collect:
+            for (MatchedTerm matchedTerm : driver.terms) {
+                Postings termPostings = matchedTerm.postings;
+                for (int i = 0; i < termPostings.size; i++) {
+                    long id = termPostings.ids[i];
+                    if (scores.containsKey(id)) {
+                        continue;
+                    }
+                    int score = score(id, matchedTerm.weight, driver, tokenMatches);
+                    if (score > 0) {
+                        scores.put(id, score);
+                        if (scores.size() >= MAX_CANDIDATES) {
+                            break collect;
+                        }
+                    }
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercase alphanumeric runs, "DEPT-AB12" gives [dept, ab12] and "jane.doe@example.com" gives [jane, doe, example, com]
+    static List<String> tokenize(Collection<String> values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            int start = -1;
+            for (int i = 0; i <= value.length(); i++) {
+                boolean tokenChar = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+                if (tokenChar && start < 0) {
+                    start = i;
+                } else if (!tokenChar && start >= 0) {
+                    tokens.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // True when the strings are at most one insertion, deletion, substitution or adjacent transposition apart
+    static boolean withinOneEdit(String a, String b) {
+        int lengthDifference = a.length() - b.length();
+        if (lengthDifference == 0) {
+            int first = -1;
+            int differences = 0;
+            for (int i = 0; i < a.length(); i++) {
+                if (a.charAt(i) != b.charAt(i)) {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    differences++;
+                }
+            }
+            return differences <= 1 || (differences == 2 && first + 1 < a.length()
+                    && a.charAt(first) == b.charAt(first + 1) && a.charAt(first + 1) == b.charAt(first));
+        }
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        String shorter = lengthDifference < 0 ? a : b;
+        String longer = lengthDifference < 0 ? b : a;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        return shorter.regionMatches(i, longer, i + 1, shorter.length() - i);
+    }
+
+    private int score(long id, int driverWeight, TokenMatch driver, List<TokenMatch> tokenMatches) {
+        int score = driverWeight;
+        String[] terms = documents.get(id);
+        for (TokenMatch tokenMatch : tokenMatches) {
+            if (tokenMatch == driver) {
+                continue;
+            }
+            int best = 0;
+            for (String term : terms) {
+                best = Math.max(best, tokenMatch.weightOf(term));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private TokenMatch resolve(String token) {
+        TokenMatch tokenMatch = new TokenMatch(token);
+        Postings exact = postings.get(token);
+        if (exact != null) {
+            tokenMatch.add(exact, EXACT);
+        }
+        int prefixTerms = 0;
+        for (Postings prefixPostings : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (prefixTerms++ == MAX_PREFIX_TERMS) {
+                break;
+            }
+            tokenMatch.add(prefixPostings, PREFIX);
+        }
+        if (token.length() >= FUZZY_MIN_LENGTH) {
+            Set<String> candidates = new HashSet<>(deletions.getOrDefault(token, List.of()));
+            for (String deletion : deletionsOf(token)) {
+                if (postings.containsKey(deletion)) {
+                    candidates.add(deletion);
+                }
+                candidates.addAll(deletions.getOrDefault(deletion, List.of()));
+            }
+            for (String candidate : candidates) {
+                if (!candidate.startsWith(token) && withinOneEdit(token, candidate)) {
+                    tokenMatch.add(postings.get(candidate), FUZZY);
+                    tokenMatch.fuzzyTerms.add(candidate);
+                }
+            }
+        }
+        return tokenMatch;
+    }
+
+    private void replace(long id, List<String> terms) {
+        removeDocument(id);
+        if (terms.isEmpty()) {
+            return;
+        }
+        String[] documentTerms = new String[terms.size()];
+        for (int i = 0; i < documentTerms.length; i++) {
+            Postings termPostings = postings.get(terms.get(i));
+            if (termPostings == null) {
+                termPostings = new Postings(terms.get(i));
+                postings.put(termPostings.term, termPostings);
+                for (String deletion : deletionsOf(termPostings.term)) {
+                    deletions.computeIfAbsent(deletion, key -> new ArrayList<>(1)).add(termPostings.term);
+                }
+            }
+            termPostings.add(id);
+            // Share the term instance held by the postings instead of keeping one copy per document
+            documentTerms[i] = termPostings.term;
+        }
+        documents.put(id, documentTerms);
+    }
+
+    private void removeDocument(long id) {
+        String[] terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Postings termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+                for (String deletion : deletionsOf(term)) {
+                    List<String> deletedTerms = deletions.get(deletion);
+                    deletedTerms.remove(term);
+                    if (deletedTerms.isEmpty()) {
+                        deletions.remove(deletion);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        if (term.length() < FUZZY_MIN_LENGTH) {
+            return Set.of();
+        }
+        Set<String> variants = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    // The terms one query token matches, exact first, then prefixes, then fuzzy matches
+    private static final class TokenMatch {
+        final String token;
+        final List<MatchedTerm> terms = new ArrayList<>();
+        final Set<String> fuzzyTerms = new HashSet<>();
+        long estimatedDocuments;
+
+        TokenMatch(String token) {
+            this.token = token;
+        }
+
+        void add(Postings termPostings, int weight) {
+            terms.add(new MatchedTerm(termPostings, weight));
+            estimatedDocuments += termPostings.size;
+        }
+
+        int weightOf(String term) {
+            if (term.equals(token)) {
+                return EXACT;
+            }
+            if (term.startsWith(token)) {
+                return PREFIX;
+            }
+            return fuzzyTerms.contains(term) ? FUZZY : 0;
+        }
+    }
+
+    private record MatchedTerm(Postings postings, int weight) {
+    }
+
+    // Sorted ids of the documents containing a term; ids mostly arrive in increasing order, which appends
+    private static final class Postings {
+        final String term;
+        long[] ids = new long[2];
+        int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            int insertAt = -(at + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+        }
+    }
+}
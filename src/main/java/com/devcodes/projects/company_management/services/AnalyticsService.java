@@ -0,0 +1,212 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.analytics.DepartmentAnalytics;
+import com.devcodes.projects.company_management.analytics.DepartmentAnalytics.DepartmentFacts;
+import com.devcodes.projects.company_management.analytics.DepartmentAnalytics.EmployeeFacts;
+import com.devcodes.projects.company_management.dtos.DepartmentAnalyticsDTO;
+import com.devcodes.projects.company_management.dtos.SalaryBandsDTO;
+import com.devcodes.projects.company_management.events.DepartmentChangedEvent;
+import com.devcodes.projects.company_management.events.EmployeeChangedEvent;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.repositories.DepartmentRepository;
+import com.devcodes.projects.company_management.repositories.EmployeeRepository;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import com.devcodes.projects.company_management.sharding.TenantDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Department budget, revenue and head count aggregates plus salary bands per department, answered from
+ * {@link DepartmentAnalytics} instead of scanning the tables. Every tenant has its own aggregates. They are loaded in
+ * the background at startup, one tenant after the other, and kept current by the change events of the services.
+ * After the writing transaction commits its request still holds the connection, so the changed rows are read back on
+ * a single updater thread, as the tenant of the write and in commit order.
+ */
+@Service
+@ConditionalOnProperty(name = "app.analytics.enabled", havingValue = "true", matchIfMissing = true)
+public class AnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private final Map<String, DepartmentAnalytics> analyticsByTenant = new ConcurrentHashMap<>();
+    private final TenantDirectory tenantDirectory;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("analytics-updater").factory());
+    // Set once the startup load went through every tenant
+    private volatile boolean built;
+
+    public AnalyticsService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                            PlatformTransactionManager transactionManager, TenantDirectory tenantDirectory) {
+        this.tenantDirectory = tenantDirectory;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Sums, averages, percentiles and group-bys over all departments
+    public DepartmentAnalyticsDTO getDepartmentAnalytics() {
+        return readAnalytics().snapshot();
+    }
+
+    // Salary bands of every department that has employees
+    public List<SalaryBandsDTO> getSalaryBands() {
+        return readAnalytics().allSalaryBands();
+    }
+
+    // Salary bands of one department
+    public SalaryBandsDTO getSalaryBands(Long departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with id: " + departmentId);
+        }
+        return readAnalytics().salaryBands(departmentId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAnalytics() {
+        Thread.ofPlatform().name("analytics-builder").daemon().start(this::buildAll);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        updater.execute(TenantContext.wrap(() -> applyDepartmentChange(event)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        updater.execute(TenantContext.wrap(() -> applyEmployeeChange(event)));
+    }
+
+    // The write already committed, a failure here is only logged
+    private void applyDepartmentChange(DepartmentChangedEvent event) {
+        DepartmentAnalytics analytics = analytics();
+        try {
+            event.deletedIds().forEach(analytics::removeDepartment);
+            if (!event.upsertedIds().isEmpty()) {
+                Set<Long> missingIds = new HashSet<>(event.upsertedIds());
+                for (Object[] row : readOnlyTransaction.execute(status -> departmentRepository.findAnalyticsFields(event.upsertedIds()))) {
+                    missingIds.remove((Long) row[0]);
+                    analytics.putDepartment((Long) row[0], departmentFacts(row));
+                }
+                missingIds.forEach(analytics::removeDepartment);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Updating department analytics failed for ids {} / {}", event.upsertedIds(), event.deletedIds(), e);
+        }
+    }
+
+    private void applyEmployeeChange(EmployeeChangedEvent event) {
+        DepartmentAnalytics analytics = analytics();
+        try {
+            event.deletedIds().forEach(analytics::removeEmployee);
+            if (!event.upsertedIds().isEmpty()) {
+                Set<Long> missingIds = new HashSet<>(event.upsertedIds());
+                for (Object[] row : readOnlyTransaction.execute(status -> employeeRepository.findAnalyticsFields(event.upsertedIds()))) {
+                    missingIds.remove((Long) row[0]);
+                    analytics.putEmployee((Long) row[0], employeeFacts(row));
+                }
+                missingIds.forEach(analytics::removeEmployee);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Updating employee analytics failed for ids {} / {}", event.upsertedIds(), event.deletedIds(), e);
+        }
+    }
+
+    private void buildAll() {
+        List<String> tenants;
+        try {
+            tenants = tenantDirectory.getTenants();
+        } catch (RuntimeException e) {
+            logger.error("Listing the tenants failed, department analytics only cover rows written since startup", e);
+            return;
+        }
+        for (String tenant : tenants) {
+            TenantContext.runAs(tenant, this::build);
+        }
+        // Tenants first written while the load ran had no earlier rows to load
+        built = true;
+        analyticsByTenant.forEach((tenant, analytics) -> {
+            if (!tenants.contains(tenant)) {
+                analytics.endBuild(true);
+            }
+        });
+    }
+
+    private void build() {
+        DepartmentAnalytics analytics = analytics();
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        analytics.beginBuild();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = departmentRepository.streamAnalyticsFields()) {
+                    rows.forEach(row -> analytics.putDepartmentFromBuild((Long) row[0], departmentFacts(row)));
+                }
+                try (Stream<Object[]> rows = employeeRepository.streamAnalyticsFields()) {
+                    rows.forEach(row -> analytics.putEmployeeFromBuild((Long) row[0], employeeFacts(row)));
+                }
+            });
+            succeeded = true;
+            logger.info("Built department analytics of tenant {} in {} ms", TenantContext.currentTenant(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Building department analytics of tenant {} failed, they only cover rows written since startup",
+                    TenantContext.currentTenant(), e);
+        } finally {
+            analytics.endBuild(succeeded);
+        }
+    }
+
+    // Aggregates of the current tenant for a load or a write
+    private DepartmentAnalytics analytics() {
+        return analyticsByTenant.computeIfAbsent(TenantContext.currentTenant(), tenant -> newAnalytics());
+    }
+
+    // Reads never create aggregates, so made-up tenant ids cost nothing; a tenant without any gets empty ones
+    private DepartmentAnalytics readAnalytics() {
+        DepartmentAnalytics analytics = analyticsByTenant.get(TenantContext.currentTenant());
+        return analytics != null ? analytics : newAnalytics();
+    }
+
+    // A tenant first seen after the startup load has no older rows to load
+    private DepartmentAnalytics newAnalytics() {
+        DepartmentAnalytics analytics = new DepartmentAnalytics();
+        if (built) {
+            analytics.endBuild(true);
+        }
+        return analytics;
+    }
+
+    // Row layout of DepartmentRepository.streamAnalyticsFields
+    private static DepartmentFacts departmentFacts(Object[] row) {
+        LocalDate establishedDate = (LocalDate) row[3];
+        return new DepartmentFacts((Boolean) row[1], (Integer) row[2],
+                establishedDate == null ? null : establishedDate.getYear(),
+                DepartmentAnalytics.toCents((BigDecimal) row[4]), DepartmentAnalytics.toCents((BigDecimal) row[5]),
+                DepartmentAnalytics.toCents((BigDecimal) row[6]), DepartmentAnalytics.toCents((BigDecimal) row[7]));
+    }
+
+    // Row layout of EmployeeRepository.streamAnalyticsFields
+    private static EmployeeFacts employeeFacts(Object[] row) {
+        return new EmployeeFacts((Long) row[1], DepartmentAnalytics.toCents((BigDecimal) row[2]),
+                DepartmentAnalytics.toCents((BigDecimal) row[3]));
+    }
+}
@@ -0,0 +1,193 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+import com.devcodes.projects.company_management.dtos.BulkItemStatus;
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for the bulk endpoints.
+ * Items are consumed from an iterator in chunks of app.bulk.chunk-size, every chunk is written in its own
+ * transaction and flushed as JDBC batches, then the persistence context is cleared so memory stays bounded.
+ * A chunk that fails to commit only marks its own items as FAILED.
+ */
+@Component
+public class BulkWriteExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BulkWriteExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkWriteExecutor(PlatformTransactionManager transactionManager,
+                             @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> BulkResultDTO execute(Iterator<T> items, ChunkWriter<T> chunkWriter) {
+        return execute(items, chunkWriter, true);
+    }
+
+    // With reportSuccesses false only the items that were not written are listed, so the result of an import
+    // stays small however many rows it has
+    public <T> BulkResultDTO execute(Iterator<T> items, ChunkWriter<T> chunkWriter, boolean reportSuccesses) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        int total = 0;
+        int succeeded = 0;
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (items.hasNext()) {
+            chunk.add(items.next());
+            if (chunk.size() == chunkSize || !items.hasNext()) {
+                for (BulkItemResultDTO result : writeChunk(total, chunk, chunkWriter)) {
+                    boolean success = isSuccess(result.getStatus());
+                    if (success) {
+                        succeeded++;
+                    }
+                    if (reportSuccesses || !success) {
+                        results.add(result);
+                    }
+                }
+                total += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        return new BulkResultDTO(total, succeeded, total - succeeded, results);
+    }
+
+    // Validate every entity of the chunk (null means the target row was not found), save the valid ones with one
+    // saveAll call and report a result per item in request order
+    public <E> List<BulkItemResultDTO> saveValid(int firstIndex, List<E> entities, Function<E, Long> idGetter,
+                                                 Function<E, Set<ConstraintViolation<E>>> validate,
+                                                 Consumer<List<E>> saveAll, BulkItemStatus successStatus) {
+        return saveValid(firstIndex, entities, idGetter, entity -> List.of(), validate, saveAll, successStatus);
+    }
+
+    // Same, but an entity that references a missing row (checkReferences returns its errors) is reported as INVALID
+    // and kept out of the flush, where its foreign key would fail every other item of the chunk
+    public <E> List<BulkItemResultDTO> saveValid(int firstIndex, List<E> entities, Function<E, Long> idGetter,
+                                                 Function<E, List<String>> checkReferences,
+                                                 Function<E, Set<ConstraintViolation<E>>> validate,
+                                                 Consumer<List<E>> saveAll, BulkItemStatus successStatus) {
+        BulkItemResultDTO[] results = new BulkItemResultDTO[entities.size()];
+        List<E> validEntities = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            E entity = entities.get(i);
+            if (entity == null) {
+                results[i] = new BulkItemResultDTO(firstIndex + i, null, BulkItemStatus.NOT_FOUND, List.of("Resource not found"));
+                continue;
+            }
+            List<String> errors = checkReferences.apply(entity);
+            if (errors.isEmpty()) {
+                errors = messages(validate.apply(entity));
+            }
+            if (errors.isEmpty()) {
+                validEntities.add(entity);
+            } else {
+                // Keep rejected changes of managed entities out of the flush
+                if (entityManager.contains(entity)) {
+                    entityManager.detach(entity);
+                }
+                results[i] = new BulkItemResultDTO(firstIndex + i, idGetter.apply(entity), BulkItemStatus.INVALID, errors);
+            }
+        }
+
+        saveAll.accept(validEntities);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = new BulkItemResultDTO(firstIndex + i, idGetter.apply(entities.get(i)), successStatus, null);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Delete the ids of the chunk that exist with one batched statement, the others are reported as NOT_FOUND
+    public List<BulkItemResultDTO> deleteExisting(int firstIndex, List<Long> ids, Function<List<Long>, List<Long>> findExistingIds,
+                                                  Consumer<List<Long>> deleteAllByIds) {
+        return deleteExisting(firstIndex, ids, findExistingIds, existingIds -> List.of(), deleteAllByIds);
+    }
+
+    // Same, but existing ids that other rows still reference are reported as CONFLICT and kept, so one of them cannot
+    // fail the foreign key check of the batched delete and with it every other item of the chunk
+    public List<BulkItemResultDTO> deleteExisting(int firstIndex, List<Long> ids, Function<List<Long>, List<Long>> findExistingIds,
+                                                  Function<List<Long>, List<Long>> findReferencedIds,
+                                                  Consumer<List<Long>> deleteAllByIds) {
+        Set<Long> existingIds = new HashSet<>(findExistingIds.apply(ids));
+        Set<Long> referencedIds = existingIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(findReferencedIds.apply(new ArrayList<>(existingIds)));
+        List<Long> deletableIds = new ArrayList<>(existingIds.size());
+        for (Long id : existingIds) {
+            if (!referencedIds.contains(id)) {
+                deletableIds.add(id);
+            }
+        }
+        deleteAllByIds.accept(deletableIds);
+        List<BulkItemResultDTO> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (referencedIds.contains(id)) {
+                results.add(new BulkItemResultDTO(firstIndex + i, id, BulkItemStatus.CONFLICT, List.of("Resource with id " + id + " is still referenced and cannot be deleted")));
+            } else if (existingIds.contains(id)) {
+                results.add(new BulkItemResultDTO(firstIndex + i, id, BulkItemStatus.DELETED, null));
+            } else {
+                results.add(new BulkItemResultDTO(firstIndex + i, id, BulkItemStatus.NOT_FOUND, List.of("Resource not found with id: " + id)));
+            }
+        }
+        return results;
+    }
+
+    private static <E> List<String> messages(Set<ConstraintViolation<E>> violations) {
+        if (violations.isEmpty()) {
+            return List.of();
+        }
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<E> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    private <T> List<BulkItemResultDTO> writeChunk(int firstIndex, List<T> chunk, ChunkWriter<T> chunkWriter) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<BulkItemResultDTO> results = chunkWriter.write(firstIndex, chunk);
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (RuntimeException exception) {
+            logger.warn("Bulk chunk starting at item {} failed: {}", firstIndex, exception.getMessage());
+            List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(new BulkItemResultDTO(firstIndex + i, null, BulkItemStatus.FAILED,
+                        List.of("Chunk could not be written, no item of it was saved")));
+            }
+            return results;
+        }
+    }
+
+    private static boolean isSuccess(BulkItemStatus status) {
+        return status == BulkItemStatus.CREATED || status == BulkItemStatus.UPDATED || status == BulkItemStatus.DELETED;
+    }
+
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        // Runs inside the chunk's transaction, firstIndex is the position of chunk.get(0) in the whole request
+        List<BulkItemResultDTO> write(int firstIndex, List<T> chunk);
+    }
+}
@@ -0,0 +1,113 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.DepartmentFeedEventDTO;
+import com.devcodes.projects.company_management.entities.DepartmentOutboxEntity;
+import com.devcodes.projects.company_management.events.DepartmentChangeFeed;
+import com.devcodes.projects.company_management.events.DepartmentChangedEvent;
+import com.devcodes.projects.company_management.repositories.DepartmentOutboxRepository;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import com.devcodes.projects.company_management.sharding.TenantDirectory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox behind the department change feed. Every DepartmentChangedEvent is written to department_outbox
+ * just before the writing transaction commits, so an entry exists exactly when the change does, without slowing the
+ * request down with anything but one batched insert. A scheduled dispatcher moves pending entries, oldest first, to
+ * the {@link DepartmentChangeFeed} in batches; entries are deleted in the same transaction that reads them and handed
+ * to the feed once it committed, so a failed dispatch is retried from the table and the feed sees each change at
+ * least once. Entries live on the shard of the tenant that wrote them, the dispatcher drains every shard in turn.
+ */
+@Service
+@ConditionalOnProperty(name = "app.departments.events.enabled", havingValue = "true", matchIfMissing = true)
+public class DepartmentOutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentOutboxService.class);
+
+    private final DepartmentOutboxRepository outboxRepository;
+    private final DepartmentChangeFeed changeFeed;
+    private final TenantDirectory tenantDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Timer dispatchLag;
+
+    public DepartmentOutboxService(DepartmentOutboxRepository outboxRepository, DepartmentChangeFeed changeFeed,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                   @Value("${app.departments.events.batch-size:500}") int batchSize,
+                                   TenantDirectory tenantDirectory) {
+        this.outboxRepository = outboxRepository;
+        this.changeFeed = changeFeed;
+        this.tenantDirectory = tenantDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.dispatchLag = Timer.builder("app.departments.events.lag")
+                .description("Time from a department change being written to it reaching the change feed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Joins the writing transaction; a write made outside of one gets its own transaction for the entries
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordChange(DepartmentChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        String tenant = TenantContext.currentTenant();
+        List<DepartmentOutboxEntity> entries = new ArrayList<>(event.upsertedIds().size() + event.deletedIds().size());
+        for (Long id : event.upsertedIds()) {
+            entries.add(new DepartmentOutboxEntity(null, id, tenant, DepartmentFeedEventDTO.UPSERTED, now));
+        }
+        for (Long id : event.deletedIds()) {
+            entries.add(new DepartmentOutboxEntity(null, id, tenant, DepartmentFeedEventDTO.DELETED, now));
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    // Drain the outbox of every shard, one batch per transaction until it is empty
+    @Scheduled(fixedDelayString = "${app.departments.events.dispatch-interval:200ms}")
+    public void dispatch() {
+        for (String shard : tenantDirectory.getShards()) {
+            try {
+                tenantDirectory.runOnShard(shard, this::drain);
+            } catch (RuntimeException e) {
+                // The entries stay in the table and are retried on the next run, the other shards still get drained
+                logger.warn("Dispatching the department outbox of shard '{}' failed", shard, e);
+            }
+        }
+    }
+
+    private void drain() {
+        List<DepartmentFeedEventDTO> events;
+        do {
+            events = transactionTemplate.execute(status -> {
+                List<DepartmentOutboxEntity> entries = outboxRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+                outboxRepository.deleteAllInBatch(entries);
+                List<DepartmentFeedEventDTO> batch = new ArrayList<>(entries.size());
+                for (DepartmentOutboxEntity entry : entries) {
+                    batch.add(new DepartmentFeedEventDTO(0, entry.getTenantId(), entry.getDepartmentId(), entry.getChangeType(), entry.getCreatedAt()));
+                }
+                return batch;
+            });
+            if (!events.isEmpty()) {
+                changeFeed.publish(events);
+                LocalDateTime now = LocalDateTime.now();
+                for (DepartmentFeedEventDTO event : events) {
+                    dispatchLag.record(Duration.between(event.getOccurredAt(), now));
+                }
+            }
+        } while (events.size() == batchSize);
+    }
+}
@@ -0,0 +1,167 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.FormatChecks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Applies PATCH payloads to a DepartmentEntity.
+ * The setter and the JSON value converter of every patchable field are resolved once, when the bean is created,
+ * so a request only does a map lookup, a conversion and a method handle call per patched field.
+ */
+@Component
+public class DepartmentPatchEngine {
+    // Fields owned by the server, a client can never patch them; the tenant comes from the request, not the body
+    private static final Set<String> READ_ONLY_FIELDS = Set.of("id", "tenantId", "version", "createdAt", "lastUpdated");
+
+    private final Map<String, FieldPatcher> fieldPatchers;
+    private final Validator validator;
+
+    public DepartmentPatchEngine(Validator validator) {
+        this.validator = validator;
+        this.fieldPatchers = buildFieldPatchers();
+    }
+
+    // Write every given field into the entity, then validate only the fields that were touched, format checks included
+    public void apply(DepartmentEntity departmentEntity, Map<String, Object> fieldToUpdate) {
+        fieldToUpdate.forEach((field, value) -> {
+            FieldPatcher fieldPatcher = fieldPatchers.get(field);
+            if (fieldPatcher == null) {
+                throw new IllegalArgumentException("Field '" + field + "' does not exist in DepartmentEntity or cannot be updated");
+            }
+            fieldPatcher.set(departmentEntity, value);
+        });
+
+        Set<ConstraintViolation<DepartmentEntity>> violations = new LinkedHashSet<>();
+        for (String field : fieldToUpdate.keySet()) {
+            violations.addAll(validator.validateProperty(departmentEntity, field, Default.class, FormatChecks.class));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    public Set<String> getPatchableFields() {
+        return fieldPatchers.keySet();
+    }
+
+    private static Map<String, FieldPatcher> buildFieldPatchers() {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(DepartmentEntity.class, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access DepartmentEntity fields", e);
+        }
+
+        Map<String, FieldPatcher> fieldPatchers = new HashMap<>();
+        for (Field field : DepartmentEntity.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || READ_ONLY_FIELDS.contains(field.getName())) {
+                continue;
+            }
+            Function<Object, Object> converter = converterFor(field);
+            if (converter == null) {
+                continue;
+            }
+            try {
+                MethodHandle setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                fieldPatchers.put(field.getName(), new FieldPatcher(field.getName(), setter, converter));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access DepartmentEntity field " + field.getName(), e);
+            }
+        }
+        return Map.copyOf(fieldPatchers);
+    }
+
+    // Converters from the values Jackson produces for a Map<String, Object> (String, Integer, Long, Double, BigDecimal,
+    // Boolean, List) to the declared field type
+    private static Function<Object, Object> converterFor(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return value -> {
+                if (value instanceof Map<?, ?> || value instanceof Collection<?>) {
+                    throw new IllegalArgumentException("expected a JSON scalar");
+                }
+                return value instanceof String ? value : String.valueOf(value);
+            };
+        }
+        if (type == Boolean.class) {
+            return value -> value instanceof Boolean ? value : parseBoolean(value);
+        }
+        if (type == Integer.class) {
+            return value -> value instanceof Integer ? value : new BigDecimal(value.toString()).intValueExact();
+        }
+        if (type == Long.class) {
+            return value -> value instanceof Long ? value : new BigDecimal(value.toString()).longValueExact();
+        }
+        if (type == BigDecimal.class) {
+            return value -> value instanceof BigDecimal ? value : new BigDecimal(value.toString());
+        }
+        if (type == LocalDate.class) {
+            return value -> LocalDate.parse(value.toString());
+        }
+        if (type == LocalDateTime.class) {
+            return value -> LocalDateTime.parse(value.toString());
+        }
+        if (type == Instant.class) {
+            return value -> Instant.parse(value.toString());
+        }
+        if (type == List.class && field.getGenericType() instanceof ParameterizedType listType
+                && listType.getActualTypeArguments()[0] == String.class) {
+            return value -> {
+                if (!(value instanceof Collection<?> values)) {
+                    throw new IllegalArgumentException("expected a JSON array");
+                }
+                List<String> strings = new ArrayList<>(values.size());
+                for (Object element : values) {
+                    strings.add(element == null ? null : element.toString());
+                }
+                return strings;
+            };
+        }
+        return null;
+    }
+
+    private static Boolean parseBoolean(Object value) {
+        String text = value.toString();
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text);
+        }
+        throw new IllegalArgumentException("expected true or false");
+    }
+
+    private record FieldPatcher(String name, MethodHandle setter, Function<Object, Object> converter) {
+
+        void set(DepartmentEntity departmentEntity, Object value) {
+            Object converted;
+            try {
+                converted = value == null ? null : converter.apply(value);
+            } catch (ArithmeticException | DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid value for field '" + name + "': " + value);
+            }
+            try {
+                setter.invokeExact((Object) departmentEntity, converted);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot set field '" + name + "'", e);
+            }
+        }
+    }
+}
@@ -1,96 +1,461 @@
 package com.devcodes.projects.company_management.services;
 
+import com.devcodes.projects.company_management.caches.DepartmentCache;
+import com.devcodes.projects.company_management.caches.LookupBatcher;
+import com.devcodes.projects.company_management.caches.TenantKey;
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+import com.devcodes.projects.company_management.dtos.BulkItemStatus;
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentChangesDTO;
 import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeSummaryDTO;
 import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.DepartmentTombstoneEntity;
+import com.devcodes.projects.company_management.events.DepartmentChangedEvent;
+import com.devcodes.projects.company_management.exceptions.GoneException;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
 import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.mappers.EmployeeMapper;
+import com.devcodes.projects.company_management.metrics.ServiceMetrics;
+import com.devcodes.projects.company_management.repositories.DepartmentChangeRow;
 import com.devcodes.projects.company_management.repositories.DepartmentRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.util.ReflectionUtils;
+import com.devcodes.projects.company_management.repositories.DepartmentRow;
+import com.devcodes.projects.company_management.repositories.DepartmentTombstoneRepository;
+import com.devcodes.projects.company_management.repositories.EmployeeRepository;
+import com.devcodes.projects.company_management.repositories.EmployeeSummaryRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
-import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class DepartmentService {
+    public static final String EXPAND_EMPLOYEES = "employees";
+    public static final String EXPAND_EMPLOYEE_COUNT = "employeeCount";
+    public static final Set<String> EXPANSIONS = Set.of(EXPAND_EMPLOYEES, EXPAND_EMPLOYEE_COUNT);
+    // The time of change token "0"
+    private static final LocalDateTime CHANGES_START = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
     private final DepartmentRepository departmentRepository;
-    private final ModelMapper modelMapper;
+    private final DepartmentTombstoneRepository departmentTombstoneRepository;
+    private final DepartmentTombstoneService departmentTombstoneService;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentMapper departmentMapper;
+    private final EmployeeMapper employeeMapper;
+    private final DepartmentPatchEngine departmentPatchEngine;
+    private final DepartmentCache departmentCache;
+    private final LookupBatcher<TenantKey, DepartmentDTO> departmentLookups;
+    private final BulkWriteExecutor bulkWriteExecutor;
+    private final ServiceMetrics serviceMetrics;
+    // How far behind "now" the next change token is placed, so rows of transactions still committing are not skipped
+    private final Duration changesGrace;
+    private final EntityValidator entityValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    // How many times a PATCH without If-Match is re-applied on the newer row after losing an optimistic lock race
+    private final int patchRetries;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public DepartmentService(DepartmentRepository departmentRepository, ModelMapper modelMapper) {
+    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                             DepartmentMapper departmentMapper, EmployeeMapper employeeMapper,
+                             DepartmentPatchEngine departmentPatchEngine, DepartmentCache departmentCache,
+                             BulkWriteExecutor bulkWriteExecutor, ServiceMetrics serviceMetrics,
+                             DepartmentTombstoneRepository departmentTombstoneRepository,
+                             DepartmentTombstoneService departmentTombstoneService,
+                             @Value("${app.departments.changes.grace:2s}") Duration changesGrace,
+                             EntityValidator entityValidator, PlatformTransactionManager transactionManager,
+                             @Value("${app.departments.patch.max-retries:3}") int patchRetries,
+                             ApplicationEventPublisher eventPublisher, LookupBatcher<TenantKey, DepartmentDTO> departmentLookups) {
         this.departmentRepository = departmentRepository;
-        this.modelMapper = modelMapper;
+        this.departmentTombstoneRepository = departmentTombstoneRepository;
+        this.departmentTombstoneService = departmentTombstoneService;
+        this.employeeRepository = employeeRepository;
+        this.departmentMapper = departmentMapper;
+        this.employeeMapper = employeeMapper;
+        this.departmentPatchEngine = departmentPatchEngine;
+        this.departmentCache = departmentCache;
+        this.bulkWriteExecutor = bulkWriteExecutor;
+        this.serviceMetrics = serviceMetrics;
+        this.changesGrace = changesGrace;
+        this.entityValidator = entityValidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.patchRetries = patchRetries;
+        this.eventPublisher = eventPublisher;
+        this.departmentLookups = departmentLookups;
     }
 
-    // This is used to create a new department in the database
+    // This is used to create a new department in the database, in one transaction with its change-feed entry
+    @Transactional
     public DepartmentDTO createNewDepartment(DepartmentDTO inputDepartment) {
-        DepartmentEntity departmentEntity = modelMapper.map(inputDepartment, DepartmentEntity.class);
-        // Set ID to null to ensure it's treated as a new entity (persist) not an update (merge)
-        departmentEntity.setId(null);
-        // Set createdAt if not provided
-        if (departmentEntity.getCreatedAt() == null) {
-            departmentEntity.setCreatedAt(Instant.now());
-        }
-        DepartmentEntity savedDepartment = departmentRepository.save(departmentEntity);
-        return modelMapper.map(savedDepartment, DepartmentDTO.class);
+        DepartmentEntity departmentEntity = serviceMetrics.time("create", ServiceMetrics.MAPPING, () -> toNewEntity(inputDepartment));
+        serviceMetrics.time("create", ServiceMetrics.VALIDATION, () -> EntityValidator.check(entityValidator.validateNew(departmentEntity, false)));
+        DepartmentEntity savedDepartment = serviceMetrics.time("create", ServiceMetrics.REPOSITORY, () -> departmentRepository.save(departmentEntity));
+        eventPublisher.publishEvent(DepartmentChangedEvent.upserted(savedDepartment.getId()));
+        return serviceMetrics.time("create", ServiceMetrics.MAPPING, () -> departmentMapper.toDto(savedDepartment));
+    }
+
+    // Create many departments, written in chunks with JDBC batching; invalid items are reported, not saved
+    public BulkResultDTO bulkCreateDepartments(Iterator<DepartmentDTO> inputDepartments) {
+        return bulkWriteExecutor.execute(inputDepartments, this::createChunk);
+    }
+
+    // Create a department per imported row, the result only lists the rows that were not saved
+    public BulkResultDTO importDepartments(Iterator<DepartmentDTO> inputDepartments) {
+        return bulkWriteExecutor.execute(inputDepartments, this::createChunk, false);
     }
 
-    // This is used to get the list of all departments from the database and do the transformation to DTO in stream data
-    public List<DepartmentDTO> getAllDepartments() {
-        List<DepartmentEntity> departmentEntities = departmentRepository.findAll();
-        return departmentEntities
-                .stream()
-                .map(departmentEntity -> modelMapper.map(departmentEntity, DepartmentDTO.class))
-                .collect(Collectors.toList());
+    // Update many departments by the id carried in each item, the rows of a chunk are loaded with one IN query
+    public BulkResultDTO bulkUpdateDepartments(Iterator<DepartmentDTO> inputDepartments) {
+        return bulkWriteExecutor.execute(inputDepartments, (firstIndex, chunk) -> {
+            Map<Long, DepartmentEntity> existingDepartments = departmentRepository
+                    .findAllById(chunk.stream().map(DepartmentDTO::getId).filter(Objects::nonNull).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(DepartmentEntity::getId, Function.identity()));
+            List<DepartmentEntity> departmentEntities = new ArrayList<>(chunk.size());
+            Map<DepartmentEntity, Map<String, Object>> formatSnapshots = new IdentityHashMap<>();
+            for (DepartmentDTO inputDepartment : chunk) {
+                DepartmentEntity departmentEntity = inputDepartment.getId() == null ? null : existingDepartments.get(inputDepartment.getId());
+                if (departmentEntity != null) {
+                    formatSnapshots.putIfAbsent(departmentEntity, entityValidator.formatSnapshot(departmentEntity));
+                    departmentMapper.updateEntity(inputDepartment, departmentEntity);
+                    departmentCache.invalidate(departmentEntity.getId());
+                }
+                departmentEntities.add(departmentEntity);
+            }
+            return publishChanges(bulkWriteExecutor.saveValid(firstIndex, departmentEntities, DepartmentEntity::getId,
+                    departmentEntity -> entityValidator.validateChanged(departmentEntity, formatSnapshots.get(departmentEntity), true),
+                    departmentRepository::saveAll, BulkItemStatus.UPDATED));
+        });
+    }
+
+    // Delete many departments by id, each chunk is removed with a single batched delete statement.
+    // Departments that still have employees are reported as CONFLICT and kept, the rest of the chunk is deleted
+    public BulkResultDTO bulkDeleteDepartments(List<Long> ids) {
+        return bulkWriteExecutor.execute(ids.iterator(), (firstIndex, chunk) -> {
+            chunk.forEach(departmentCache::invalidate);
+            return publishChanges(bulkWriteExecutor.deleteExisting(firstIndex, chunk, departmentRepository::findExistingIds,
+                    employeeRepository::findReferencedDepartmentIds, deletableIds -> {
+                        departmentRepository.deleteAllByIdInBatch(deletableIds);
+                        addTombstones(deletableIds);
+                    }));
+        });
+    }
+
+    // Keyset pagination: read the next page of departments after the given id without counting or offsetting.
+    // Only the list columns are selected; expansions cost one extra statement per page (employee summaries or a grouped count)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DepartmentDTO> getDepartmentsPage(Long afterId, int limit, Set<String> expand) {
+        List<DepartmentRow> departmentRows = serviceMetrics.time("list", ServiceMetrics.REPOSITORY, () -> departmentRepository
+                .findRowsAfter(afterId == null ? 0L : afterId, Limit.of(limit)));
+        List<DepartmentDTO> departments = serviceMetrics.time("list", ServiceMetrics.MAPPING, () -> departmentMapper.toDtoListFromRows(departmentRows));
+        serviceMetrics.time("list", ServiceMetrics.REPOSITORY, () -> applyExpansions(departments, expand));
+        Long nextCursor = departments.size() < limit ? null : departments.get(departments.size() - 1).getId();
+        return new CursorPageDTO<>(departments, nextCursor);
+    }
+
+    // Hand every department to the consumer as it is read from the JDBC cursor. Only the list columns are read and
+    // no entity is managed, so memory does not grow with the table
+    @Transactional(readOnly = true)
+    public void streamAllDepartments(Consumer<DepartmentDTO> consumer) {
+        try (Stream<DepartmentRow> departmentRows = departmentRepository.streamRows()) {
+            departmentRows.forEach(departmentRow -> consumer.accept(departmentMapper.toDto(departmentRow)));
+        }
     }
 
-    // Get department using departmentId
+    // Get department using departmentId, served from the cache when the department was read recently. Concurrent
+    // misses for one id share a load and misses for different ids are batched into one IN query.
+    // The batch reads on its own connection, so a caller holding one must not wait for it: with every pooled
+    // connection held by such waiters no batch could run. Inside a transaction the row is read directly instead
     public Optional<DepartmentDTO> getDepartmentById(Long id) {
-        return departmentRepository
-                .findById(id)
-                .map(departmentEntity -> modelMapper.map(departmentEntity, DepartmentDTO.class));
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            DepartmentDTO cachedDepartment = departmentCache.getIfPresent(id);
+            return cachedDepartment != null
+                    ? Optional.of(cachedDepartment)
+                    : departmentRepository.findRowById(id).map(departmentMapper::toDto);
+        }
+        return departmentCache.get(id, departmentLookups::load);
     }
 
-    // Change all the department details that are already present with a different set of details
-    public DepartmentDTO updateDepartmentById(DepartmentDTO inputDepartment, Long id) {
-        if (!isDepartmentPresentById(id)) {
-            throw new ResourceNotFoundException("Department not found with id: " + id);
+    // Get department using departmentId with the requested expansions, the cache only holds plain departments.
+    // Not transactional itself: plain lookups go through the batcher without holding a connection, only
+    // expanded ones open a read-only transaction
+    public Optional<DepartmentDTO> getDepartmentById(Long id, Set<String> expand) {
+        if (expand.isEmpty()) {
+            return getDepartmentById(id);
+        }
+        return readOnlyTransaction.execute(status -> departmentRepository.findRowById(id).map(departmentRow -> {
+            DepartmentDTO departmentDTO = departmentMapper.toDto(departmentRow);
+            applyExpansions(List.of(departmentDTO), expand);
+            return departmentDTO;
+        }));
+    }
+
+    // Version of a department for conditional GETs, from the cache when possible and otherwise without loading the row
+    public Optional<Long> getDepartmentVersion(Long id) {
+        DepartmentDTO cachedDepartment = departmentCache.getIfPresent(id);
+        if (cachedDepartment != null) {
+            return Optional.ofNullable(cachedDepartment.getVersion());
+        }
+        return departmentRepository.findVersionById(id);
+    }
+
+    // ETag of a page computed from ids and versions only, so a matching If-None-Match never loads or maps entities
+    public String getDepartmentsPageETag(Long afterId, int limit) {
+        StringBuilder versions = new StringBuilder();
+        for (Object[] row : departmentRepository.findVersionsPage(afterId == null ? 0L : afterId, Limit.of(limit))) {
+            versions.append(row[0]).append(':').append(row[1]).append(',');
+        }
+        return DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Same ETag as getDepartmentsPageETag, computed from a page that was already loaded
+    public String getDepartmentsPageETag(List<DepartmentDTO> departments) {
+        StringBuilder versions = new StringBuilder();
+        for (DepartmentDTO departmentDTO : departments) {
+            versions.append(departmentDTO.getId()).append(':').append(departmentDTO.getVersion()).append(',');
         }
-        DepartmentEntity departmentEntity  = modelMapper.map(inputDepartment, DepartmentEntity.class);
-        departmentEntity.setId(id);
-        DepartmentEntity newDepartment = departmentRepository.save(departmentEntity);
-        return modelMapper.map(newDepartment, DepartmentDTO.class);
+        return DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Departments created, updated or deleted since the token, at most limit of each, oldest first. Changes younger
+    // than the grace period are left for a later poll, so one whose transaction commits late is not skipped; the next
+    // token continues right after the last change returned, and hasMore says another page is already waiting.
+    // A token older than the tombstone retention is gone, apart from "0" which starts from the beginning
+    @Transactional(readOnly = true)
+    public DepartmentChangesDTO getDepartmentChangesSince(String token, int limit) {
+        ChangeToken since = ChangeToken.parse(token);
+        if (since.deleted().time().isAfter(CHANGES_START) && since.deleted().time().isBefore(departmentTombstoneService.getHorizon())) {
+            throw new GoneException("Change token " + token + " is older than the retained deletions, start again from 0");
+        }
+        LocalDateTime until = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS).minus(changesGrace);
+        List<DepartmentChangeRow> changedRows = departmentRepository.findChangesPage(since.changed().time(), since.changed().afterId(), until, Limit.of(limit));
+        List<DepartmentTombstoneEntity> tombstones = departmentTombstoneRepository.findDeletionsPage(since.deleted().time(), since.deleted().afterId(), until, Limit.of(limit));
+
+        List<DepartmentRow> changed = new ArrayList<>(changedRows.size());
+        ChangePosition nextChanged = since.changed().atEndOf(until);
+        for (DepartmentChangeRow changedRow : changedRows) {
+            changed.add(changedRow.row());
+        }
+        if (changedRows.size() == limit) {
+            DepartmentChangeRow lastRow = changedRows.get(changedRows.size() - 1);
+            nextChanged = new ChangePosition(lastRow.lastUpdated(), lastRow.id());
+        }
+        List<Long> deleted = new ArrayList<>(tombstones.size());
+        ChangePosition nextDeleted = since.deleted().atEndOf(until);
+        for (DepartmentTombstoneEntity tombstone : tombstones) {
+            deleted.add(tombstone.getDepartmentId());
+        }
+        if (tombstones.size() == limit) {
+            DepartmentTombstoneEntity lastTombstone = tombstones.get(tombstones.size() - 1);
+            nextDeleted = new ChangePosition(lastTombstone.getDeletedAt(), lastTombstone.getDepartmentId());
+        }
+        return new DepartmentChangesDTO(departmentMapper.toDtoListFromRows(changed), deleted,
+                new ChangeToken(nextChanged, nextDeleted).format(), changedRows.size() == limit || tombstones.size() == limit);
+    }
+
+    // Change all the department details that are already present with a different set of details.
+    // One UPDATE statement, no existence check and no entity load; with an expected version (If-Match) the row is only
+    // written if nobody changed it since. createdAt stays server-owned, the response only carries the written fields
+    // and, with If-Match, the new version; without it the version is unknown and no ETag is sent, saving a read.
+    // The written columns carry no format checks, their constraints are checked on DepartmentDTO by the controller's @Valid
+    @Transactional
+    public DepartmentDTO updateDepartmentById(DepartmentDTO inputDepartment, Long id, Long expectedVersion) {
+        int updated = serviceMetrics.time("update", ServiceMetrics.REPOSITORY, () -> departmentRepository.updateDetails(id, expectedVersion,
+                inputDepartment.getTitle(), inputDepartment.getIsActive(), LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS)));
+        if (updated == 0) {
+            throw expectedVersion != null && departmentRepository.findVersionById(id).isPresent()
+                    ? new PreconditionFailedException("Department " + id + " is no longer at version " + expectedVersion)
+                    : new ResourceNotFoundException("Department not found with id: " + id);
+        }
+        departmentCache.invalidate(id);
+        eventPublisher.publishEvent(DepartmentChangedEvent.upserted(id));
+
+        DepartmentDTO departmentDTO = new DepartmentDTO(id, inputDepartment.getTitle(), inputDepartment.getIsActive(), null);
+        departmentDTO.setVersion(expectedVersion != null ? Long.valueOf(expectedVersion + 1) : null);
+        return departmentDTO;
     }
 
     // Delete a department by inputted id
+    @Transactional
     public void deleteDepartmentById(Long id) {
         if (!isDepartmentPresentById(id)) {
             throw new ResourceNotFoundException("Department not found with id: " + id);
         }
-        departmentRepository.deleteById(id);
+        serviceMetrics.time("delete", ServiceMetrics.REPOSITORY, () -> departmentRepository.deleteById(id));
+        addTombstones(List.of(id));
+        departmentCache.invalidate(id);
+        eventPublisher.publishEvent(DepartmentChangedEvent.deleted(List.of(id)));
     }
 
-    public DepartmentDTO partialUpdateDepartmentById(Map<String, Object> fieldToUpdate, Long id) {
-        DepartmentEntity departmentEntity = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
-        
-        fieldToUpdate.forEach((field, value) -> {
-            Field targetField = ReflectionUtils.findField(DepartmentEntity.class, field);
-            if (targetField == null) {
-                throw new IllegalArgumentException("Field '" + field + "' does not exist in DepartmentEntity");
+    // Apply only the given fields to the loaded department, converting and validating them through the patch engine.
+    // A patch only sets the fields it names, so without If-Match it is simply re-applied to the newer row when a
+    // concurrent writer wins the version check, a bounded number of times. With If-Match a lost race is a conflict
+    public DepartmentDTO partialUpdateDepartmentById(Map<String, Object> fieldToUpdate, Long id, Long expectedVersion) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> patchDepartment(fieldToUpdate, id, expectedVersion));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null || attempt >= patchRetries) {
+                    throw e;
+                }
             }
-            targetField.setAccessible(true);
-            ReflectionUtils.setField(targetField, departmentEntity, value);
-        });
-        
-        return modelMapper.map(departmentRepository.save(departmentEntity), DepartmentDTO.class);
+        }
+    }
+
+    private DepartmentDTO patchDepartment(Map<String, Object> fieldToUpdate, Long id, Long expectedVersion) {
+        DepartmentEntity departmentEntity = serviceMetrics.time("patch", ServiceMetrics.REPOSITORY, () -> departmentRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(departmentEntity.getVersion())) {
+            throw new PreconditionFailedException("Department " + id + " is no longer at version " + expectedVersion);
+        }
+        serviceMetrics.time("patch", ServiceMetrics.VALIDATION, () -> departmentPatchEngine.apply(departmentEntity, fieldToUpdate));
+        DepartmentEntity patchedDepartment = serviceMetrics.time("patch", ServiceMetrics.REPOSITORY, () -> departmentRepository.saveAndFlush(departmentEntity));
+        departmentCache.invalidate(id);
+        eventPublisher.publishEvent(DepartmentChangedEvent.upserted(id));
+        return serviceMetrics.time("patch", ServiceMetrics.MAPPING, () -> departmentMapper.toDto(patchedDepartment));
     }
 
     // Helper functions
+    private void applyExpansions(List<DepartmentDTO> departments, Set<String> expand) {
+        if (departments.isEmpty()) {
+            return;
+        }
+        List<Long> departmentIds = departments.stream().map(DepartmentDTO::getId).collect(Collectors.toList());
+        if (expand.contains(EXPAND_EMPLOYEES)) {
+            Map<Long, List<EmployeeSummaryDTO>> employeesByDepartment = new HashMap<>();
+            for (EmployeeSummaryRow employeeRow : employeeRepository.findSummariesByDepartmentIds(departmentIds)) {
+                employeesByDepartment.computeIfAbsent(employeeRow.departmentId(), key -> new ArrayList<>())
+                        .add(employeeMapper.toSummary(employeeRow));
+            }
+            for (DepartmentDTO departmentDTO : departments) {
+                List<EmployeeSummaryDTO> employees = employeesByDepartment.getOrDefault(departmentDTO.getId(), new ArrayList<>());
+                departmentDTO.setEmployees(employees);
+                departmentDTO.setEmployeeCount((long) employees.size());
+            }
+        } else if (expand.contains(EXPAND_EMPLOYEE_COUNT)) {
+            Map<Long, Long> employeeCounts = new HashMap<>();
+            for (Object[] row : employeeRepository.countByDepartmentIds(departmentIds)) {
+                employeeCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (DepartmentDTO departmentDTO : departments) {
+                departmentDTO.setEmployeeCount(employeeCounts.getOrDefault(departmentDTO.getId(), 0L));
+            }
+        }
+    }
+
+    private List<BulkItemResultDTO> createChunk(int firstIndex, List<DepartmentDTO> chunk) {
+        List<DepartmentEntity> departmentEntities = new ArrayList<>(chunk.size());
+        for (DepartmentDTO inputDepartment : chunk) {
+            departmentEntities.add(toNewEntity(inputDepartment));
+        }
+        return publishChanges(bulkWriteExecutor.saveValid(firstIndex, departmentEntities, DepartmentEntity::getId,
+                departmentEntity -> entityValidator.validateNew(departmentEntity, true),
+                departmentRepository::saveAll, BulkItemStatus.CREATED));
+    }
+
+    // Listeners run once the chunk transaction commits
+    private List<BulkItemResultDTO> publishChanges(List<BulkItemResultDTO> results) {
+        DepartmentChangedEvent event = DepartmentChangedEvent.fromBulkResults(results);
+        if (!event.isEmpty()) {
+            eventPublisher.publishEvent(event);
+        }
+        return results;
+    }
+
+    // Stamped in UTC like DepartmentEntity.lastUpdated
+    private void addTombstones(Collection<Long> ids) {
+        LocalDateTime deletedAt = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+        for (Long id : ids) {
+            entityManager.persist(new DepartmentTombstoneEntity(id, deletedAt));
+        }
+    }
+
+    // Keyset position in the changed rows or the tombstones: everything up to (time, afterId) was already returned
+    private record ChangePosition(LocalDateTime time, long afterId) {
+
+        // Position once every row before until was returned, never moving back
+        ChangePosition atEndOf(LocalDateTime until) {
+            return until.isAfter(time) ? new ChangePosition(until, 0L) : this;
+        }
+    }
+
+    /**
+     * Position of a client in the changed rows and in the tombstones. Opaque to clients: written as four
+     * dot-separated numbers, UTC times in microseconds. A single number (tokens of earlier releases, and "0" to start
+     * from the beginning) is that time for both, with nothing returned at it yet.
+     */
+    private record ChangeToken(ChangePosition changed, ChangePosition deleted) {
+
+        static ChangeToken parse(String token) {
+            try {
+                String[] parts = token.split("\\.", -1);
+                if (parts.length == 1) {
+                    ChangePosition since = new ChangePosition(fromMicros(Long.parseLong(parts[0])), 0L);
+                    return new ChangeToken(since, since);
+                }
+                if (parts.length == 4) {
+                    return new ChangeToken(new ChangePosition(fromMicros(Long.parseLong(parts[0])), Long.parseLong(parts[1])),
+                            new ChangePosition(fromMicros(Long.parseLong(parts[2])), Long.parseLong(parts[3])));
+                }
+            } catch (NumberFormatException | DateTimeException e) {
+                // Reported below like any other malformed token
+            }
+            throw new IllegalArgumentException("Invalid change token: " + token);
+        }
+
+        String format() {
+            return toMicros(changed.time()) + "." + changed.afterId() + "." + toMicros(deleted.time()) + "." + deleted.afterId();
+        }
+
+        private static LocalDateTime fromMicros(long micros) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+        }
+
+        private static long toMicros(LocalDateTime time) {
+            return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000;
+        }
+    }
+
+    private DepartmentEntity toNewEntity(DepartmentDTO inputDepartment) {
+        DepartmentEntity departmentEntity = departmentMapper.toEntity(inputDepartment);
+        // Set ID to null to ensure it's treated as a new entity (persist) not an update (merge)
+        departmentEntity.setId(null);
+        // Set createdAt if not provided
+        if (departmentEntity.getCreatedAt() == null) {
+            departmentEntity.setCreatedAt(Instant.now());
+        }
+        return departmentEntity;
+    }
+
     public boolean isDepartmentPresentById(Long id) {
-        return departmentRepository.existsById(id);
+        return departmentCache.contains(id) || departmentRepository.existsById(id);
     }
 }
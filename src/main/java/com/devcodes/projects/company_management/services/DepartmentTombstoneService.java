@@ -0,0 +1,62 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.repositories.DepartmentTombstoneRepository;
+import com.devcodes.projects.company_management.sharding.TenantDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Retention of the department tombstones behind GET /departments/changes. Tombstones older than the retention are
+ * deleted on a schedule, from every shard; a change token older than the retention may have missed some of them, so
+ * {@link DepartmentService#getDepartmentChangesSince} refuses it and the client has to resynchronise from "0".
+ */
+@Service
+public class DepartmentTombstoneService {
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentTombstoneService.class);
+
+    private final DepartmentTombstoneRepository departmentTombstoneRepository;
+    private final TenantDirectory tenantDirectory;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    public DepartmentTombstoneService(DepartmentTombstoneRepository departmentTombstoneRepository, TenantDirectory tenantDirectory,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${app.departments.changes.retention:7d}") Duration retention) {
+        this.departmentTombstoneRepository = departmentTombstoneRepository;
+        this.tenantDirectory = tenantDirectory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    // Oldest time a change token may point to; every tombstone from then on is still kept
+    public LocalDateTime getHorizon() {
+        return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS).minus(retention);
+    }
+
+    // Delete the tombstones older than the retention on every shard
+    @Scheduled(fixedDelayString = "${app.departments.changes.prune-interval:1h}")
+    public void prune() {
+        LocalDateTime horizon = getHorizon();
+        for (String shard : tenantDirectory.getShards()) {
+            try {
+                tenantDirectory.runOnShard(shard, () -> {
+                    Integer pruned = transactionTemplate.execute(status -> departmentTombstoneRepository.deleteAllDeletedBefore(horizon));
+                    logger.debug("Pruned {} department tombstones of shard '{}' older than {}", pruned, shard, horizon);
+                });
+            } catch (RuntimeException e) {
+                // Nothing is lost, the tombstones are pruned on the next run; the other shards are still pruned
+                logger.warn("Pruning the department tombstones of shard '{}' failed", shard, e);
+            }
+        }
+    }
+}
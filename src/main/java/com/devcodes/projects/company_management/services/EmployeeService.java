@@ -0,0 +1,241 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+import com.devcodes.projects.company_management.dtos.BulkItemStatus;
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeFilterDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import com.devcodes.projects.company_management.events.EmployeeChangedEvent;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import com.devcodes.projects.company_management.mappers.EmployeeMapper;
+import com.devcodes.projects.company_management.repositories.DepartmentRepository;
+import com.devcodes.projects.company_management.repositories.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class EmployeeService {
+    // Columns that can be requested with ?fields=, departmentId reads the foreign key; skills and addressList are
+    // single encoded columns, so they cost no join either
+    public static final Set<String> PROJECTABLE_FIELDS = Set.of(
+            "id", "name", "bio", "employeeId", "email", "linkedInProfile", "age", "salary", "monthlyDeduction",
+            "accountBalance", "bonus", "performanceRating", "dob", "dateOfHire", "lastLogin", "contractEndDate",
+            "nextReviewDate", "skills", "terminationReason", "isPermanent", "isVerified", "isOnLeave", "phoneNumber",
+            "addressList", "departmentId");
+    public static final List<String> DEFAULT_FIELDS = List.of(
+            "id", "name", "employeeId", "email", "departmentId", "performanceRating", "salary", "isPermanent", "dateOfHire");
+    // Rows mapped between two clears of the persistence context during an export
+    private static final int EXPORT_GROUP_SIZE = 100;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentService departmentService;
+    private final EmployeeMapper employeeMapper;
+    private final BulkWriteExecutor bulkWriteExecutor;
+    private final EntityValidator entityValidator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeService(EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                           EmployeeMapper employeeMapper, BulkWriteExecutor bulkWriteExecutor,
+                           EntityValidator entityValidator, ApplicationEventPublisher eventPublisher,
+                           DepartmentService departmentService) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.departmentService = departmentService;
+        this.employeeMapper = employeeMapper;
+        this.bulkWriteExecutor = bulkWriteExecutor;
+        this.entityValidator = entityValidator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Keyset page of filtered employees, only the requested columns are read from the database
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Map<String, Object>> getEmployeesPage(EmployeeFilterDTO filter, List<String> fields, Long afterId, int limit) {
+        List<String> selectedFields = fields == null || fields.isEmpty() ? DEFAULT_FIELDS : fields;
+        for (String field : selectedFields) {
+            if (!PROJECTABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Field '" + field + "' cannot be selected, allowed fields are " + new TreeSet<>(PROJECTABLE_FIELDS));
+            }
+        }
+        List<Map<String, Object>> employees = employeeRepository.findProjected(filter, selectedFields, afterId, limit);
+        Long nextCursor = employees.size() < limit ? null : (Long) employees.get(employees.size() - 1).get("id");
+        return new CursorPageDTO<>(employees, nextCursor);
+    }
+
+    // Hand every employee to the consumer as it is read from the JDBC cursor. Skills and addresses come with the
+    // row, and the persistence context is cleared every EXPORT_GROUP_SIZE rows so it does not grow with the table
+    @Transactional(readOnly = true)
+    public void streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        try (Stream<EmployeeEntity> employeeEntities = employeeRepository.streamAll()) {
+            Iterator<EmployeeEntity> iterator = employeeEntities.iterator();
+            for (int count = 1; iterator.hasNext(); count++) {
+                consumer.accept(employeeMapper.toDto(iterator.next()));
+                if (count % EXPORT_GROUP_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Get employee using employeeId
+    @Transactional(readOnly = true)
+    public Optional<EmployeeDTO> getEmployeeById(Long id) {
+        return employeeRepository
+                .findById(id)
+                .map(employeeMapper::toDto);
+    }
+
+    // This is used to create a new employee in the database
+    @Transactional
+    public EmployeeDTO createNewEmployee(EmployeeDTO inputEmployee) {
+        checkDepartmentExists(inputEmployee.getDepartmentId());
+        EmployeeEntity employeeEntity = toNewEntity(inputEmployee);
+        EntityValidator.check(entityValidator.validateNew(employeeEntity, false));
+        EmployeeEntity savedEmployee = employeeRepository.save(employeeEntity);
+        eventPublisher.publishEvent(EmployeeChangedEvent.upserted(savedEmployee.getId()));
+        return employeeMapper.toDto(savedEmployee);
+    }
+
+    // Change all the employee details with a different set of details, on the entity loaded by id
+    @Transactional
+    public EmployeeDTO updateEmployeeById(EmployeeDTO inputEmployee, Long id) {
+        EmployeeEntity employeeEntity = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+        checkDepartmentExists(inputEmployee.getDepartmentId());
+        Map<String, Object> formatSnapshot = entityValidator.formatSnapshot(employeeEntity);
+        employeeMapper.updateEntity(inputEmployee, employeeEntity);
+        assignDepartment(employeeEntity, inputEmployee.getDepartmentId());
+        EntityValidator.check(entityValidator.validateChanged(employeeEntity, formatSnapshot, false));
+        eventPublisher.publishEvent(EmployeeChangedEvent.upserted(id));
+        return employeeMapper.toDto(employeeRepository.save(employeeEntity));
+    }
+
+    // Delete an employee by inputted id
+    @Transactional
+    public void deleteEmployeeById(Long id) {
+        if (!employeeRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Employee not found with id: " + id);
+        }
+        employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(List.of(id)));
+    }
+
+    // Create many employees, written in chunks with JDBC batching; invalid items are reported, not saved
+    public BulkResultDTO bulkCreateEmployees(Iterator<EmployeeDTO> inputEmployees) {
+        return bulkWriteExecutor.execute(inputEmployees, this::createChunk);
+    }
+
+    // Create an employee per imported row, the result only lists the rows that were not saved
+    public BulkResultDTO importEmployees(Iterator<EmployeeDTO> inputEmployees) {
+        return bulkWriteExecutor.execute(inputEmployees, this::createChunk, false);
+    }
+
+    // Update many employees by the id carried in each item, the rows of a chunk are loaded with one IN query
+    public BulkResultDTO bulkUpdateEmployees(Iterator<EmployeeDTO> inputEmployees) {
+        return bulkWriteExecutor.execute(inputEmployees, (firstIndex, chunk) -> {
+            Map<Long, EmployeeEntity> existingEmployees = employeeRepository
+                    .findAllById(chunk.stream().map(EmployeeDTO::getId).filter(Objects::nonNull).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(EmployeeEntity::getId, Function.identity()));
+            Set<Long> missingDepartmentIds = findMissingDepartmentIds(chunk);
+            List<EmployeeEntity> employeeEntities = new ArrayList<>(chunk.size());
+            Map<EmployeeEntity, Map<String, Object>> formatSnapshots = new IdentityHashMap<>();
+            for (EmployeeDTO inputEmployee : chunk) {
+                EmployeeEntity employeeEntity = inputEmployee.getId() == null ? null : existingEmployees.get(inputEmployee.getId());
+                if (employeeEntity != null) {
+                    formatSnapshots.putIfAbsent(employeeEntity, entityValidator.formatSnapshot(employeeEntity));
+                    employeeMapper.updateEntity(inputEmployee, employeeEntity);
+                    assignDepartment(employeeEntity, inputEmployee.getDepartmentId());
+                }
+                employeeEntities.add(employeeEntity);
+            }
+            return publishChanges(bulkWriteExecutor.saveValid(firstIndex, employeeEntities, EmployeeEntity::getId,
+                    employeeEntity -> checkDepartment(employeeEntity, missingDepartmentIds),
+                    employeeEntity -> entityValidator.validateChanged(employeeEntity, formatSnapshots.get(employeeEntity), true),
+                    employeeRepository::saveAll, BulkItemStatus.UPDATED));
+        });
+    }
+
+    // Delete many employees by id, each chunk is removed with a single batched delete statement
+    public BulkResultDTO bulkDeleteEmployees(List<Long> ids) {
+        return bulkWriteExecutor.execute(ids.iterator(), (firstIndex, chunk) ->
+                publishChanges(bulkWriteExecutor.deleteExisting(firstIndex, chunk, employeeRepository::findExistingIds,
+                        employeeRepository::deleteAllByIdInBatch)));
+    }
+
+    // Helper functions
+    private List<BulkItemResultDTO> createChunk(int firstIndex, List<EmployeeDTO> chunk) {
+        Set<Long> missingDepartmentIds = findMissingDepartmentIds(chunk);
+        List<EmployeeEntity> employeeEntities = new ArrayList<>(chunk.size());
+        for (EmployeeDTO inputEmployee : chunk) {
+            employeeEntities.add(toNewEntity(inputEmployee));
+        }
+        return publishChanges(bulkWriteExecutor.saveValid(firstIndex, employeeEntities, EmployeeEntity::getId,
+                employeeEntity -> checkDepartment(employeeEntity, missingDepartmentIds),
+                employeeEntity -> entityValidator.validateNew(employeeEntity, true),
+                employeeRepository::saveAll, BulkItemStatus.CREATED));
+    }
+
+    // Listeners run once the chunk transaction commits
+    private List<BulkItemResultDTO> publishChanges(List<BulkItemResultDTO> results) {
+        EmployeeChangedEvent event = EmployeeChangedEvent.fromBulkResults(results);
+        if (!event.isEmpty()) {
+            eventPublisher.publishEvent(event);
+        }
+        return results;
+    }
+
+    private EmployeeEntity toNewEntity(EmployeeDTO inputEmployee) {
+        EmployeeEntity employeeEntity = employeeMapper.toEntity(inputEmployee);
+        // Set ID to null to ensure it's treated as a new entity (persist) not an update (merge)
+        employeeEntity.setId(null);
+        assignDepartment(employeeEntity, inputEmployee.getDepartmentId());
+        return employeeEntity;
+    }
+
+    // A reference to a missing department would only fail at flush, as a generic data integrity violation
+    private void checkDepartmentExists(Long departmentId) {
+        if (departmentId != null && !departmentService.isDepartmentPresentById(departmentId)) {
+            throw new ResourceNotFoundException("Department not found with id: " + departmentId);
+        }
+    }
+
+    // Departments named by the items of a bulk chunk that do not exist, found with one IN query
+    private Set<Long> findMissingDepartmentIds(List<EmployeeDTO> chunk) {
+        Set<Long> departmentIds = chunk.stream()
+                .map(EmployeeDTO::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        if (!departmentIds.isEmpty()) {
+            departmentRepository.findExistingIds(departmentIds).forEach(departmentIds::remove);
+        }
+        return departmentIds;
+    }
+
+    private static List<String> checkDepartment(EmployeeEntity employeeEntity, Set<Long> missingDepartmentIds) {
+        DepartmentEntity departmentEntity = employeeEntity.getDepartment();
+        return departmentEntity != null && missingDepartmentIds.contains(departmentEntity.getId())
+                ? List.of("departmentId: Department not found with id: " + departmentEntity.getId())
+                : List.of();
+    }
+
+    // Point the employee at its department through a lazy reference, no select is issued for it
+    private void assignDepartment(EmployeeEntity employeeEntity, Long departmentId) {
+        employeeEntity.setDepartment(departmentId == null ? null : departmentRepository.getReferenceById(departmentId));
+    }
+}
@@ -0,0 +1,89 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.entities.FormatChecks;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.groups.Default;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one place entities are validated before they are written. JPA lifecycle validation is switched off
+ * (jakarta.persistence.validation.mode=none), so Hibernate does not run every constraint again when it flushes.
+ * New entities get every constraint. Updated entities get the Default group, and the {@link FormatChecks} group only
+ * for the properties whose value changed. Bulk paths use a fail-fast validator that stops at the first violation.
+ */
+@Component
+public class EntityValidator {
+    private final Validator validator;
+    private final Validator failFastValidator;
+    // Properties with FormatChecks constraints per entity class, read once from the validator metadata
+    private final Map<Class<?>, List<String>> formatCheckedProperties = new ConcurrentHashMap<>();
+
+    public EntityValidator(Validator validator, ValidatorFactory validatorFactory) {
+        this.validator = validator;
+        this.failFastValidator = validatorFactory.unwrap(HibernateValidatorFactory.class)
+                .usingContext()
+                .failFast(true)
+                .getValidator();
+    }
+
+    // Every constraint, for an entity that is about to be inserted
+    public <E> Set<ConstraintViolation<E>> validateNew(E entity, boolean failFast) {
+        return validator(failFast).validate(entity, Default.class, FormatChecks.class);
+    }
+
+    // Values of the format-checked properties, taken before an update so validateChanged can tell what changed
+    public Map<String, Object> formatSnapshot(Object entity) {
+        DirectFieldAccessor fieldAccessor = new DirectFieldAccessor(entity);
+        Map<String, Object> snapshot = new HashMap<>();
+        for (String property : formatCheckedProperties(entity.getClass())) {
+            snapshot.put(property, fieldAccessor.getPropertyValue(property));
+        }
+        return snapshot;
+    }
+
+    // Default constraints of the whole entity, format checks only where the value differs from the snapshot
+    public <E> Set<ConstraintViolation<E>> validateChanged(E entity, Map<String, Object> formatSnapshot, boolean failFast) {
+        Validator selectedValidator = validator(failFast);
+        Set<ConstraintViolation<E>> violations = new LinkedHashSet<>(selectedValidator.validate(entity));
+        DirectFieldAccessor fieldAccessor = new DirectFieldAccessor(entity);
+        for (String property : formatCheckedProperties(entity.getClass())) {
+            if (failFast && !violations.isEmpty()) {
+                break;
+            }
+            if (!Objects.equals(formatSnapshot.get(property), fieldAccessor.getPropertyValue(property))) {
+                violations.addAll(selectedValidator.validateProperty(entity, property, FormatChecks.class));
+            }
+        }
+        return violations;
+    }
+
+    // Throw the violations the way @Valid-less paths report them, see GlobalExceptionHandler
+    public static <E> void check(Set<ConstraintViolation<E>> violations) {
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private Validator validator(boolean failFast) {
+        return failFast ? failFastValidator : validator;
+    }
+
+    private List<String> formatCheckedProperties(Class<?> entityClass) {
+        return formatCheckedProperties.computeIfAbsent(entityClass, type -> validator.getConstraintsForClass(type)
+                .getConstrainedProperties()
+                .stream()
+                .filter(property -> property.findConstraints().unorderedAndMatchingGroups(FormatChecks.class).hasConstraints())
+                .map(PropertyDescriptor::getPropertyName)
+                .sorted()
+                .toList());
+    }
+}
@@ -0,0 +1,96 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.ExchangeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.dataformat.csv.CsvMapper;
+import tools.jackson.dataformat.csv.CsvReadFeature;
+import tools.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes DTOs as CSV or NDJSON one row at a time, so exports and imports run in constant memory.
+ * CSV columns are the DTO properties with a header line, list properties are joined with ';'.
+ */
+@Component
+public class ExchangeCodec {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvReadFeature.EMPTY_STRING_AS_NULL)
+            .build();
+
+    public ExchangeCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Write every row the source hands over, the source is expected to read them from a database cursor
+    public <T> void export(OutputStream outputStream, ExchangeFormat format, boolean gzip, Class<T> type,
+                           Set<String> omittedColumns, Consumer<Consumer<T>> source) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : null;
+        try (SequenceWriter sequenceWriter = writerFor(format, type, omittedColumns)
+                .writeValues(gzipStream != null ? gzipStream : outputStream)) {
+            source.accept(sequenceWriter::write);
+        }
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        outputStream.flush();
+    }
+
+    // Lazily parsed rows of an upload, gunzipped when the request says Content-Encoding: gzip
+    public <T> MappingIterator<T> read(InputStream inputStream, String contentEncoding, ExchangeFormat format,
+                                       Class<T> type, Set<String> omittedColumns) throws IOException {
+        InputStream source = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE) : inputStream;
+        if (format == ExchangeFormat.CSV) {
+            return csvMapper.readerFor(type)
+                    .with(csvSchema(type, omittedColumns).withColumnReordering(true))
+                    .readValues(source);
+        }
+        return objectMapper.readerFor(type).readValues(source);
+    }
+
+    // Content type, attachment file name and, for compressed exports, Content-Encoding
+    public static HttpHeaders exportHeaders(String fileName, ExchangeFormat format, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(fileName + "." + format.getFileExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return headers;
+    }
+
+    private ObjectWriter writerFor(ExchangeFormat format, Class<?> type, Set<String> omittedColumns) {
+        ObjectWriter writer = format == ExchangeFormat.CSV
+                ? csvMapper.writerFor(type).with(csvSchema(type, omittedColumns))
+                : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        return writer.without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    private CsvSchema csvSchema(Class<?> type, Set<String> omittedColumns) {
+        CsvSchema.Builder builder = CsvSchema.builder().setUseHeader(true);
+        for (CsvSchema.Column column : csvMapper.schemaFor(type)) {
+            if (!omittedColumns.contains(column.getName())) {
+                builder.addColumn(column.getName(), column.getType());
+            }
+        }
+        return builder.build();
+    }
+}
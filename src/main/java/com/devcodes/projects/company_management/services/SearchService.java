@@ -0,0 +1,228 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeSummaryDTO;
+import com.devcodes.projects.company_management.events.DepartmentChangedEvent;
+import com.devcodes.projects.company_management.events.EmployeeChangedEvent;
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.mappers.EmployeeMapper;
+import com.devcodes.projects.company_management.repositories.DepartmentRepository;
+import com.devcodes.projects.company_management.repositories.DepartmentRow;
+import com.devcodes.projects.company_management.repositories.EmployeeRepository;
+import com.devcodes.projects.company_management.repositories.EmployeeSummaryRow;
+import com.devcodes.projects.company_management.search.InvertedIndex;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import com.devcodes.projects.company_management.sharding.TenantDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead search over department title/code and employee name/email/skills, served from in-memory inverted indexes.
+ * Every tenant has its own pair of indexes, so a search only ever sees the rows of the caller's tenant.
+ * The indexes are built in the background at startup, one tenant after the other, and kept current by the change
+ * events of the services. After the writing transaction commits its request still holds the connection, so the
+ * changed rows are read back on a single updater thread, as the tenant of the write and in commit order.
+ */
+@Service
+@ConditionalOnProperty(name = "app.search.enabled", havingValue = "true", matchIfMissing = true)
+public class SearchService {
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private final Map<String, TenantIndexes> indexesByTenant = new ConcurrentHashMap<>();
+    private final TenantDirectory tenantDirectory;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentMapper departmentMapper;
+    private final EmployeeMapper employeeMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("search-index-updater").factory());
+
+    public SearchService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository,
+                         DepartmentMapper departmentMapper, EmployeeMapper employeeMapper,
+                         PlatformTransactionManager transactionManager, TenantDirectory tenantDirectory) {
+        this.tenantDirectory = tenantDirectory;
+        this.departmentRepository = departmentRepository;
+        this.employeeRepository = employeeRepository;
+        this.departmentMapper = departmentMapper;
+        this.employeeMapper = employeeMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Departments whose title or code match every word of the query, best match first
+    @Transactional(readOnly = true)
+    public List<DepartmentDTO> searchDepartments(String query, int limit) {
+        checkQuery(query, limit);
+        TenantIndexes indexes = indexesByTenant.get(TenantContext.currentTenant());
+        if (indexes == null) {
+            return List.of();
+        }
+        List<Long> ids = indexes.departments().search(query, limit);
+        return inIndexOrder(ids, departmentRepository.findRowsByIds(ids), DepartmentRow::id, departmentMapper::toDto);
+    }
+
+    // Employees whose name, email or skills match every word of the query, best match first
+    @Transactional(readOnly = true)
+    public List<EmployeeSummaryDTO> searchEmployees(String query, int limit) {
+        checkQuery(query, limit);
+        TenantIndexes indexes = indexesByTenant.get(TenantContext.currentTenant());
+        if (indexes == null) {
+            return List.of();
+        }
+        List<Long> ids = indexes.employees().search(query, limit);
+        return inIndexOrder(ids, employeeRepository.findSummariesByIds(ids), EmployeeSummaryRow::id, employeeMapper::toSummary);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        Thread.ofPlatform().name("search-index-builder").daemon().start(() -> {
+            List<String> tenants;
+            try {
+                tenants = tenantDirectory.getTenants();
+            } catch (RuntimeException e) {
+                logger.error("Listing the tenants failed, the search indexes only hold documents written since startup", e);
+                return;
+            }
+            for (String tenant : tenants) {
+                TenantContext.runAs(tenant, () -> {
+                    build("department", indexes().departments(), departmentRepository::streamSearchFields);
+                    build("employee", indexes().employees(), employeeRepository::streamSearchFields);
+                });
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        updater.execute(TenantContext.wrap(() -> apply("department", indexes().departments(), event.upsertedIds(),
+                event.deletedIds(), departmentRepository::findSearchFields)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        updater.execute(TenantContext.wrap(() -> apply("employee", indexes().employees(), event.upsertedIds(),
+                event.deletedIds(), employeeRepository::findSearchFields)));
+    }
+
+    private void build(String name, InvertedIndex index, Supplier<Stream<Object[]>> rows) {
+        long start = System.nanoTime();
+        index.beginBuild();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> stream = rows.get()) {
+                    forEachDocument(stream.iterator(), index::putFromBuild);
+                }
+            });
+            logger.info("Built {} search index of tenant {} with {} documents in {} ms", name, TenantContext.currentTenant(),
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Building the {} search index of tenant {} failed, it only holds documents written since startup",
+                    name, TenantContext.currentTenant(), e);
+        } finally {
+            index.endBuild();
+        }
+    }
+
+    // The write already committed, a failure here is only logged
+    private void apply(String name, InvertedIndex index, Set<Long> upsertedIds, Set<Long> deletedIds,
+                       Function<Collection<Long>, List<Object[]>> findSearchFields) {
+        try {
+            deletedIds.forEach(index::remove);
+            if (!upsertedIds.isEmpty()) {
+                Set<Long> missingIds = new HashSet<>(upsertedIds);
+                List<Object[]> rows = readOnlyTransaction.execute(status -> findSearchFields.apply(upsertedIds));
+                forEachDocument(rows.iterator(), (id, values) -> {
+                    missingIds.remove(id);
+                    index.put(id, values);
+                });
+                missingIds.forEach(index::remove);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Updating the {} search index failed for ids {} / {}", name, upsertedIds, deletedIds, e);
+        }
+    }
+
+    // Rows are (id, value, value, ...), consecutive rows with the same id belong to one document; a list value
+    // contributes each of its elements
+    private static void forEachDocument(Iterator<Object[]> rows, BiConsumer<Long, List<String>> consumer) {
+        Long currentId = null;
+        List<String> values = new ArrayList<>();
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            Long id = (Long) row[0];
+            if (!id.equals(currentId)) {
+                if (currentId != null) {
+                    consumer.accept(currentId, values);
+                }
+                currentId = id;
+                values = new ArrayList<>();
+            }
+            for (int i = 1; i < row.length; i++) {
+                if (row[i] instanceof Collection<?> elements) {
+                    for (Object element : elements) {
+                        if (element != null) {
+                            values.add(element.toString());
+                        }
+                    }
+                } else if (row[i] != null) {
+                    values.add(row[i].toString());
+                }
+            }
+        }
+        if (currentId != null) {
+            consumer.accept(currentId, values);
+        }
+    }
+
+    // Indexes of the current tenant for a build or a write, a tenant first seen after startup starts with empty ones;
+    // searches never create them, so made-up tenant ids cost nothing
+    private TenantIndexes indexes() {
+        return indexesByTenant.computeIfAbsent(TenantContext.currentTenant(), tenant -> new TenantIndexes(new InvertedIndex(), new InvertedIndex()));
+    }
+
+    private static <E, D> List<D> inIndexOrder(List<Long> ids, List<E> rows, Function<E, Long> idGetter, Function<E, D> mapper) {
+        Map<Long, E> rowsById = new HashMap<>();
+        for (E row : rows) {
+            rowsById.put(idGetter.apply(row), row);
+        }
+        List<D> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            E row = rowsById.get(id);
+            if (row != null) {
+                results.add(mapper.apply(row));
+            }
+        }
+        return results;
+    }
+
+    private static void checkQuery(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Query must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+    }
+
+    private record TenantIndexes(InvertedIndex departments, InvertedIndex employees) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.ShardStatsDTO;
+import com.devcodes.projects.company_management.sharding.ShardRoutingDataSource;
+import com.devcodes.projects.company_management.sharding.TenantInterceptor;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row counts and latencies of every shard for GET /admin/shards. Counts are read straight from each shard's
+ * DataSource, across all of its tenants, with plain JDBC so no tenant restriction applies.
+ */
+@Service
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardStatsService {
+    private final ShardRoutingDataSource shardRoutingDataSource;
+    private final TenantInterceptor tenantInterceptor;
+
+    // The DataSource bean may be wrapped (see ExecutionConfig), the router is reached through unwrap
+    public ShardStatsService(DataSource dataSource, TenantInterceptor tenantInterceptor) throws SQLException {
+        this.shardRoutingDataSource = dataSource.unwrap(ShardRoutingDataSource.class);
+        this.tenantInterceptor = tenantInterceptor;
+    }
+
+    public List<ShardStatsDTO> getShardStats() {
+        List<ShardStatsDTO> stats = new ArrayList<>();
+        for (Map.Entry<String, DataSource> shard : shardRoutingDataSource.getShards().entrySet()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard.getValue());
+            long start = System.nanoTime();
+            Long tenantCount = jdbcTemplate.queryForObject("select count(distinct tenant_id) from departments", Long.class);
+            Long departmentCount = jdbcTemplate.queryForObject("select count(*) from departments", Long.class);
+            Long employeeCount = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+            double probeMillis = (System.nanoTime() - start) / 1e6;
+
+            Timer requests = tenantInterceptor.getRequestTimer(shard.getKey());
+            stats.add(new ShardStatsDTO(shard.getKey(), tenantCount, departmentCount, employeeCount, probeMillis,
+                    requests == null ? 0 : requests.count(),
+                    requests == null ? 0 : requests.mean(TimeUnit.MILLISECONDS),
+                    requests == null ? 0 : requests.max(TimeUnit.MILLISECONDS)));
+        }
+        return stats;
+    }
+
+    // Shard that serves the tenant now, for checking a pin or a ring change before moving rows
+    public String getShardOf(String tenant) {
+        return shardRoutingDataSource.shardFor(tenant);
+    }
+}
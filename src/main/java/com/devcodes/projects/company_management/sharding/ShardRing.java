@@ -0,0 +1,80 @@
+package com.devcodes.projects.company_management.sharding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring from tenants to shards. Every shard owns virtualNodes points on a 64-bit ring and a tenant
+ * belongs to the first point at or after its own hash, so adding or removing a shard only moves the tenants of the
+ * arcs that change hands (about 1/N of them) instead of rehashing everyone.
+ * Pinned tenants bypass the ring, which is how a single tenant is moved to another shard after its rows were copied.
+ * The ring only routes, it never moves rows: see strandedTenants for the tenants a new ring would cut off.
+ */
+public class ShardRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> shards;
+    private final Map<String, String> pinnedTenants;
+
+    public ShardRing(List<String> shards, int virtualNodes, Map<String, String> pinnedTenants) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        for (Map.Entry<String, String> pin : pinnedTenants.entrySet()) {
+            if (!shards.contains(pin.getValue())) {
+                throw new IllegalArgumentException("Tenant " + pin.getKey() + " is pinned to unknown shard " + pin.getValue());
+            }
+        }
+        this.shards = List.copyOf(shards);
+        this.pinnedTenants = Map.copyOf(pinnedTenants);
+        for (String shard : shards) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public String shardFor(String tenant) {
+        String pinnedShard = pinnedTenants.get(tenant);
+        if (pinnedShard != null) {
+            return pinnedShard;
+        }
+        Map.Entry<Long, String> point = ring.ceilingEntry(hash(tenant));
+        return point != null ? point.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getShards() {
+        return shards;
+    }
+
+    // Tenants with rows on some shard but none on the shard this ring routes them to, with a shard that holds their
+    // rows. Adding a shard reroutes about 1/N of the tenants, and without a copy and a pin their data would vanish
+    public Map<String, String> strandedTenants(Map<String, Set<String>> tenantsByShard) {
+        Map<String, String> stranded = new TreeMap<>();
+        tenantsByShard.forEach((shard, tenants) -> {
+            for (String tenant : tenants) {
+                Set<String> routedShardTenants = tenantsByShard.getOrDefault(shardFor(tenant), Set.of());
+                if (!routedShardTenants.contains(tenant)) {
+                    stranded.putIfAbsent(tenant, shard);
+                }
+            }
+        });
+        return stranded;
+    }
+
+    // First 8 bytes of the MD5 digest, evenly spread for similar keys such as "shard-1#17" and "shard-1#18"
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
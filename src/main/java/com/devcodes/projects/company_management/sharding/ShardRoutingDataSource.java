@@ -0,0 +1,71 @@
+package com.devcodes.projects.company_management.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The application's DataSource when sharding is on: every connection comes from the shard the ring assigns to the
+ * current tenant, so repositories, transactions and JDBC code route without knowing about shards.
+ * Work that belongs to a shard rather than a tenant (draining the outbox) pins the shard with callOnShard instead.
+ * A transaction keeps the connection it started with, the tenant must not change inside one.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final ThreadLocal<String> PINNED_SHARD = new ThreadLocal<>();
+
+    private final ShardRing shardRing;
+    private final Map<String, HikariDataSource> shards;
+
+    public ShardRoutingDataSource(ShardRing shardRing, Map<String, HikariDataSource> shards) {
+        this.shardRing = shardRing;
+        this.shards = new LinkedHashMap<>(shards);
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(shardRing.shardFor(TenantContext.DEFAULT_TENANT)));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String pinnedShard = PINNED_SHARD.get();
+        return pinnedShard != null ? pinnedShard : shardRing.shardFor(TenantContext.currentTenant());
+    }
+
+    // Run the work with every connection taken from the given shard, whatever the tenant of the thread
+    public <T> T callOnShard(String shard, Supplier<T> work) {
+        if (!shards.containsKey(shard)) {
+            throw new IllegalArgumentException("Unknown shard '" + shard + "'");
+        }
+        String previous = PINNED_SHARD.get();
+        PINNED_SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                PINNED_SHARD.set(previous);
+            } else {
+                PINNED_SHARD.remove();
+            }
+        }
+    }
+
+    public String shardFor(String tenant) {
+        return shardRing.shardFor(tenant);
+    }
+
+    // Shard data sources by name, in configuration order
+    public Map<String, DataSource> getShards() {
+        return Collections.unmodifiableMap(shards);
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
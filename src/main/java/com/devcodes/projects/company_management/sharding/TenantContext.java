@@ -0,0 +1,59 @@
+package com.devcodes.projects.company_management.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant of the work running on the current thread. Set from the request header by TenantInterceptor and carried
+ * over to async request threads by the task decorator of ShardingConfig; the startup builds of the search indexes
+ * and analytics run as each tenant of TenantDirectory in turn. Everything else (schedulers, and the whole
+ * application when sharding is off) runs as the default tenant.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String currentTenant() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // Run the work as the given tenant and restore whatever tenant the thread had before
+    public static <T> T callAs(String tenant, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable work) {
+        callAs(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // The task runs as the tenant of the thread that wraps it, wherever it is executed
+    public static Runnable wrap(Runnable task) {
+        String tenant = currentTenant();
+        return () -> runAs(tenant, task);
+    }
+}
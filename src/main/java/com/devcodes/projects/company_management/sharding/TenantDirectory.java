@@ -0,0 +1,64 @@
+package com.devcodes.projects.company_management.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shards and tenants for the background work that is not started by a request: index and analytics builds run once
+ * per tenant, the outbox dispatcher once per shard. Without sharding there is one unnamed shard and only the default
+ * tenant, so the same code runs unchanged.
+ */
+@Component
+public class TenantDirectory {
+    public static final String SINGLE_SHARD = "";
+
+    // Null when sharding is off
+    private final ShardRoutingDataSource shardRoutingDataSource;
+
+    // The DataSource bean may be wrapped (see ExecutionConfig), the router is reached through unwrap
+    public TenantDirectory(DataSource dataSource) throws SQLException {
+        this.shardRoutingDataSource = dataSource.isWrapperFor(ShardRoutingDataSource.class)
+                ? dataSource.unwrap(ShardRoutingDataSource.class)
+                : null;
+    }
+
+    public List<String> getShards() {
+        return shardRoutingDataSource == null ? List.of(SINGLE_SHARD) : List.copyOf(shardRoutingDataSource.getShards().keySet());
+    }
+
+    // Run the work against the given shard, whatever the tenant of the thread
+    public void runOnShard(String shard, Runnable work) {
+        if (shardRoutingDataSource == null) {
+            work.run();
+            return;
+        }
+        shardRoutingDataSource.callOnShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Tenants with rows on the shard that serves them; rows a tenant left behind on another shard are ignored.
+    // Read with plain JDBC from every shard, so no tenant restriction applies
+    public List<String> getTenants() {
+        if (shardRoutingDataSource == null) {
+            return List.of(TenantContext.DEFAULT_TENANT);
+        }
+        List<String> tenants = new ArrayList<>();
+        for (Map.Entry<String, DataSource> shard : shardRoutingDataSource.getShards().entrySet()) {
+            for (String tenant : new JdbcTemplate(shard.getValue()).queryForList(
+                    "select tenant_id from departments union select tenant_id from employees", String.class)) {
+                if (shard.getKey().equals(shardRoutingDataSource.shardFor(tenant))) {
+                    tenants.add(tenant);
+                }
+            }
+        }
+        return tenants;
+    }
+}
@@ -0,0 +1,21 @@
+package com.devcodes.projects.company_management.sharding;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Tenant of every Hibernate session, registered with hibernate.tenant_identifier_resolver. Hibernate writes it to
+ * the @TenantId column on insert and restricts every query and load by id to it.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.currentTenant();
+    }
+
+    // Sessions are opened per request or transaction by Spring, never taken from getCurrentSession()
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.devcodes.projects.company_management.sharding;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the tenant named by the tenant header to the request thread for the department and employee endpoints,
+ * a request without a valid one is rejected with 400. Also times the requests of every shard for GET /admin/shards.
+ */
+public class TenantInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+    private static final String START_ATTRIBUTE = TenantInterceptor.class.getName() + ".start";
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final String tenantHeader;
+    private final ShardRing shardRing;
+    private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    public TenantInterceptor(String tenantHeader, ShardRing shardRing) {
+        this.tenantHeader = tenantHeader;
+        this.shardRing = shardRing;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = request.getHeader(tenantHeader);
+        if (tenant == null || tenant.isBlank()) {
+            throw new IllegalArgumentException("Missing " + tenantHeader + " header");
+        }
+        if (!TENANT_PATTERN.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Invalid " + tenantHeader + " header, expected 1 to 64 letters, digits, '-' or '_'");
+        }
+        TenantContext.set(tenant);
+        // The dispatch that completes an async request keeps timing from the original one
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    // The request thread goes back to the pool while a stream or SSE subscription carries on elsewhere
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            Timer timer = requestTimers.get(shardRing.shardFor(TenantContext.currentTenant()));
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        TenantContext.clear();
+    }
+
+    // Requests served by the shard so far, null before the interceptor was bound to a registry
+    public Timer getRequestTimer(String shard) {
+        return requestTimers.get(shard);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String shard : shardRing.getShards()) {
+            requestTimers.put(shard, Timer.builder("app.shards.requests")
+                    .description("Department and employee requests by the shard of their tenant")
+                    .tag("shard", shard)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.devcodes.projects.company_management.startup;
+
+import com.devcodes.projects.company_management.dtos.StartupStepDTO;
+import com.devcodes.projects.company_management.dtos.StartupTimelineDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup timeline of the fast-startup profile: when the application is ready the slowest steps (bean instantiation,
+ * context refresh phases, ...) are logged and the whole timeline is written as JSON to app.startup.report.file.
+ * The steps are recorded by the BufferingApplicationStartup that CompanyManagementApplication installs for this
+ * profile; the same timeline is served at /actuator/startup.
+ */
+@Component
+@Profile("fast-startup")
+public class StartupTimelineReport {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+    private final ObjectMapper objectMapper;
+    private final int topSteps;
+    private final String reportFile;
+
+    public StartupTimelineReport(ObjectMapper objectMapper,
+                                 @Value("${app.startup.report.top-steps:20}") int topSteps,
+                                 @Value("${app.startup.report.file:}") String reportFile) {
+        this.objectMapper = objectMapper;
+        this.topSteps = topSteps;
+        this.reportFile = reportFile;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup applicationStartup)) {
+            logger.info("No startup timeline was recorded, start the application through CompanyManagementApplication.main");
+            return;
+        }
+        StartupTimeline timeline = applicationStartup.getBufferedTimeline();
+        List<StartupStepDTO> steps = timeline.getEvents().stream()
+                .map(timelineEvent -> toStep(timelineEvent, timeline.getStartTime()))
+                .toList();
+        StartupTimelineDTO report = new StartupTimelineDTO(millis(event.getTimeTaken()), steps);
+
+        logger.info("Ready in {} ms, slowest of {} startup steps:", Math.round(report.getTimeToReadyMillis()), steps.size());
+        steps.stream()
+                .sorted(Comparator.comparingDouble(StartupStepDTO::getDurationMillis).reversed())
+                .limit(topSteps)
+                .forEach(step -> logger.info("  {} ms  {} {}", String.format("%8.1f", step.getDurationMillis()), step.getName(), step.getTags()));
+
+        if (!reportFile.isBlank()) {
+            try {
+                Files.write(Path.of(reportFile), objectMapper.writeValueAsBytes(report));
+                logger.info("Startup timeline written to {}", Path.of(reportFile).toAbsolutePath());
+            } catch (IOException e) {
+                logger.warn("Writing the startup timeline to {} failed", reportFile, e);
+            }
+        }
+    }
+
+    private static StartupStepDTO toStep(StartupTimeline.TimelineEvent timelineEvent, Instant applicationStart) {
+        StartupStep startupStep = timelineEvent.getStartupStep();
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (StartupStep.Tag tag : startupStep.getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        return new StartupStepDTO(startupStep.getId(), startupStep.getParentId(), startupStep.getName(), tags,
+                millis(Duration.between(applicationStart, timelineEvent.getStartTime())), millis(timelineEvent.getDuration()));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+}
@@ -0,0 +1,76 @@
+package com.devcodes.projects.company_management.startup;
+
+import com.devcodes.projects.company_management.advices.ApiResponse;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import com.devcodes.projects.company_management.entities.EmployeeEntity;
+import com.devcodes.projects.company_management.mappers.DepartmentMapper;
+import com.devcodes.projects.company_management.mappers.EmployeeMapper;
+import com.devcodes.projects.company_management.services.EntityValidator;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pays the one-off costs of the first requests while the application is started but not yet ready: class loading of
+ * the generated mappers, validator metadata of the DTOs and entities, and the JSON serializers
+ * and deserializers of the DTOs inside the ApiResponse envelope. Application runners complete before readiness
+ * switches to ACCEPTING_TRAFFIC, so no request waits for any of it.
+ */
+@Component
+@Profile("fast-startup")
+public class StartupWarmup implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private final DepartmentMapper departmentMapper;
+    private final EmployeeMapper employeeMapper;
+    private final Validator validator;
+    private final EntityValidator entityValidator;
+    private final ObjectMapper objectMapper;
+
+    public StartupWarmup(DepartmentMapper departmentMapper, EmployeeMapper employeeMapper, Validator validator,
+                         EntityValidator entityValidator, ObjectMapper objectMapper) {
+        this.departmentMapper = departmentMapper;
+        this.employeeMapper = employeeMapper;
+        this.validator = validator;
+        this.entityValidator = entityValidator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        DepartmentDTO departmentDTO = new DepartmentDTO(1L, "Warm-up", true, Instant.now());
+        DepartmentEntity departmentEntity = departmentMapper.toEntity(departmentDTO);
+        departmentMapper.updateEntity(departmentMapper.toDto(departmentEntity), departmentEntity);
+        EmployeeDTO employeeDTO = new EmployeeDTO();
+        EmployeeEntity employeeEntity = employeeMapper.toEntity(employeeDTO);
+        employeeMapper.updateEntity(employeeMapper.toDto(employeeEntity), employeeEntity);
+
+        // Violations are expected, only the metadata built on the way matters
+        validator.validate(departmentDTO);
+        validator.validate(employeeDTO);
+        for (Object entity : List.of(departmentEntity, employeeEntity)) {
+            entityValidator.validateNew(entity, false);
+            entityValidator.validateNew(entity, true);
+            entityValidator.validateChanged(entity, entityValidator.formatSnapshot(entity), false);
+        }
+
+        objectMapper.readValue(objectMapper.writeValueAsBytes(departmentDTO), DepartmentDTO.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(employeeDTO), EmployeeDTO.class);
+        objectMapper.writeValueAsBytes(new ApiResponse<>(List.of(departmentDTO)));
+        objectMapper.writeValueAsBytes(new ApiResponse<>(employeeDTO));
+
+        logger.info("Warmed up mappers, validators and JSON in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,103 @@
+-- Schema of DepartmentEntity, EmployeeEntity and DepartmentTombstoneEntity. Hibernate only validates it in the
+-- prod profile, so every change to the entities needs a new migration here.
+
+create sequence departments_seq start with 1 increment by 50;
+create sequence employees_seq start with 1 increment by 50;
+
+create table departments (
+    id                   bigint                      not null,
+    version              bigint,
+    title                varchar(100)                not null,
+    description          varchar(500),
+    department_code      varchar(255),
+    contact_email        varchar(255),
+    website              varchar(255),
+    is_active            boolean                     not null,
+    is_verified          boolean,
+    is_archived          boolean,
+    employee_count       integer,
+    budget               numeric(38, 2),
+    quarterly_loss       numeric(38, 2),
+    balance_adjustment   numeric(38, 2),
+    revenue              numeric(38, 2),
+    priority             integer,
+    established_date     date,
+    last_updated         timestamp(6),
+    planned_closure_date date,
+    next_review_date     date,
+    deletion_reason      varchar(255),
+    payment_card_number  varchar(255),
+    created_at           timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table department_manager_names (
+    department_id bigint not null,
+    manager_name  varchar(255),
+    constraint fk_department_manager_names_department foreign key (department_id) references departments (id)
+);
+
+create table employees (
+    id                 bigint       not null,
+    name               varchar(50)  not null,
+    bio                varchar(500),
+    employee_id        varchar(255),
+    email              varchar(255),
+    linked_in_profile  varchar(255),
+    age                integer,
+    salary             numeric(38, 2),
+    monthly_deduction  numeric(38, 2),
+    account_balance    numeric(38, 2),
+    bonus              numeric(38, 2),
+    performance_rating integer,
+    dob                date,
+    date_of_hire       date,
+    last_login         timestamp(6),
+    contract_end_date  date,
+    next_review_date   date,
+    termination_reason varchar(255),
+    credit_card_number varchar(255),
+    is_permanent       boolean      not null,
+    is_verified        boolean,
+    is_on_leave        boolean,
+    phone_number       varchar(255),
+    department_id      bigint,
+    primary key (id),
+    constraint fk_employees_department foreign key (department_id) references departments (id)
+);
+
+create table employee_skills (
+    employee_id bigint not null,
+    skill       varchar(255),
+    constraint fk_employee_skills_employee foreign key (employee_id) references employees (id)
+);
+
+create table employee_addresses (
+    employee_id bigint not null,
+    address     varchar(255),
+    constraint fk_employee_addresses_employee foreign key (employee_id) references employees (id)
+);
+
+create table department_tombstones (
+    department_id bigint not null,
+    deleted_at    timestamp(6),
+    primary key (department_id)
+);
+
+-- Department lookups and filters
+create index idx_departments_last_updated on departments (last_updated);
+create index idx_departments_department_code on departments (department_code);
+create index idx_departments_title on departments (title);
+create index idx_departments_is_active on departments (is_active);
+
+-- Employee lookups, filters and the department keyset page
+create index idx_employees_department_id on employees (department_id, id);
+create index idx_employees_employee_id on employees (employee_id);
+create index idx_employees_email on employees (email);
+create index idx_employees_name on employees (name);
+create index idx_employees_performance_rating on employees (performance_rating);
+create index idx_employees_salary on employees (salary);
+create index idx_employees_is_permanent on employees (is_permanent);
+create index idx_employees_date_of_hire on employees (date_of_hire);
+
+create index idx_department_tombstones_deleted_at on department_tombstones (deleted_at);
@@ -0,0 +1,11 @@
+-- Transactional outbox of department changes, drained into the GET /departments/events feed
+
+create sequence department_outbox_seq start with 1 increment by 50;
+
+create table department_outbox (
+    id            bigint      not null,
+    department_id bigint,
+    change_type   varchar(255),
+    created_at    timestamp(6),
+    primary key (id)
+);
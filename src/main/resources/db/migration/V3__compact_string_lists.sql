@@ -0,0 +1,32 @@
+-- Employee skills and addresses and department manager names move from one row per element in a collection table
+-- to one column on the owning row, encoded like StringListConverter: each element followed by char(31), with '\'
+-- and char(31) inside an element escaped by a '\'. Rows without elements keep NULL.
+
+alter table employees add column skills varchar(4000);
+alter table employees add column address_list varchar(4000);
+alter table departments add column manager_names varchar(4000);
+
+update employees e set skills = (
+    select listagg(replace(replace(coalesce(s.skill, ''), '\', '\\'), char(31), '\' || char(31)) || char(31), '')
+               within group (order by s._rowid_)
+    from employee_skills s
+    where s.employee_id = e.id
+);
+
+update employees e set address_list = (
+    select listagg(replace(replace(coalesce(a.address, ''), '\', '\\'), char(31), '\' || char(31)) || char(31), '')
+               within group (order by a._rowid_)
+    from employee_addresses a
+    where a.employee_id = e.id
+);
+
+update departments d set manager_names = (
+    select listagg(replace(replace(coalesce(m.manager_name, ''), '\', '\\'), char(31), '\' || char(31)) || char(31), '')
+               within group (order by m._rowid_)
+    from department_manager_names m
+    where m.department_id = d.id
+);
+
+drop table employee_skills;
+drop table employee_addresses;
+drop table department_manager_names;
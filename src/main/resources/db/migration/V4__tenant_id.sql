@@ -0,0 +1,10 @@
+-- Tenant discriminator (@TenantId) of departments, employees and department tombstones; rows written before it
+-- and rows written outside Hibernate belong to the default tenant
+
+alter table departments add column tenant_id varchar(64) default 'default' not null;
+alter table employees add column tenant_id varchar(64) default 'default' not null;
+alter table department_tombstones add column tenant_id varchar(64) default 'default' not null;
+
+create index idx_departments_tenant_id on departments (tenant_id, id);
+create index idx_employees_tenant_id on employees (tenant_id, id);
+create index idx_department_tombstones_tenant_id on department_tombstones (tenant_id, deleted_at);
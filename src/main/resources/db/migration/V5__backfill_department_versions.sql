@@ -0,0 +1,4 @@
+-- Departments written before versioning (or by plain SQL) have no version; start them at 0 so ETags, If-Match and
+-- the version bump of DepartmentRepository.updateDetails all see a number
+
+update departments set version = 0 where version is null;
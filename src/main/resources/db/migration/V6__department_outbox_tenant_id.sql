@@ -0,0 +1,4 @@
+-- Tenant of every outbox entry, so the change feed only shows a subscriber the changes of its own tenant. Entries
+-- written before it and by plain SQL belong to the default tenant
+
+alter table department_outbox add column tenant_id varchar(64) default 'default' not null;
@@ -0,0 +1,6 @@
+-- V3 left NULL in the list columns of rows that had no elements, while StringListConverter writes '' for a list
+-- without elements. Store the empty list the one way the converter does.
+
+update employees set skills = '' where skills is null;
+update employees set address_list = '' where address_list is null;
+update departments set manager_names = '' where manager_names is null;
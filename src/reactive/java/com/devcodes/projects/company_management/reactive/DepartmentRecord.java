@@ -0,0 +1,11 @@
+package com.devcodes.projects.company_management.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+// List columns of a departments row as read through R2DBC, the same columns as DepartmentRow
+@Table("departments")
+public record DepartmentRecord(@Id Long id, Long version, String title, Boolean isActive, OffsetDateTime createdAt) {
+}
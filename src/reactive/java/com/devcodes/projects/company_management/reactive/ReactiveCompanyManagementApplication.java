@@ -0,0 +1,21 @@
+package com.devcodes.projects.company_management.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking variant of the department API on WebFlux and R2DBC, built with mvn -Preactive.
+ * It scans only this package and always runs with the reactive profile; every bean here is @Profile("reactive")
+ * so the servlet application, whose scan also covers this package, never picks them up.
+ */
+@Profile("reactive")
+@SpringBootApplication
+public class ReactiveCompanyManagementApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveCompanyManagementApplication.class);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
@@ -0,0 +1,185 @@
+package com.devcodes.projects.company_management.reactive;
+
+import com.devcodes.projects.company_management.advices.ApiEnvelope;
+import com.devcodes.projects.company_management.advices.ApiResponse;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Handler functions of the reactive department API, the same paths, status codes, ETags and ApiResponse envelope
+ * as DepartmentController for the endpoints it covers.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveDepartmentHandler {
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final DataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    private final ReactiveDepartmentService departmentService;
+    private final ApiEnvelope apiEnvelope;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveDepartmentHandler(ReactiveDepartmentService departmentService, ApiEnvelope apiEnvelope, ObjectMapper objectMapper) {
+        this.departmentService = departmentService;
+        this.apiEnvelope = apiEnvelope;
+        this.objectMapper = objectMapper;
+    }
+
+    // GET /departments: one page of departments, ordered by id and starting after the given cursor
+    public Mono<ServerResponse> getAllDepartments(ServerRequest request) {
+        int limit = request.queryParam("limit").map(value -> parse(value, "limit").intValue()).orElse(50);
+        Long after = request.queryParam("after").map(value -> parse(value, "after")).orElse(null);
+        checkLimit(limit);
+        checkNoExpand(request);
+        return departmentService.getDepartmentsPage(after, limit).flatMap(page -> ok(HttpStatus.OK, page));
+    }
+
+    // GET /departments/stream: every department, as NDJSON when asked for and otherwise as one enveloped JSON array.
+    // Either way rows are only read from the database as fast as the client takes them
+    public Mono<ServerResponse> streamAllDepartments(ServerRequest request) {
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(departmentService.streamAllDepartments(), DepartmentDTO.class);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(envelopedArray(departmentService.streamAllDepartments())));
+    }
+
+    // GET /departments/{departmentId}: 304 when If-None-Match still matches the version
+    public Mono<ServerResponse> getDepartmentById(ServerRequest request) {
+        checkNoExpand(request);
+        Optional<String> ifNoneMatch = Optional.ofNullable(request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH));
+        return departmentService.getDepartmentById(departmentId(request)).flatMap(department -> {
+            String eTag = eTag(department.getVersion());
+            if (ifNoneMatch.filter(eTag::equals).isPresent()) {
+                return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ServerResponse.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON).bodyValue(new ApiResponse<>(department));
+        });
+    }
+
+    // POST /departments: create a new department
+    public Mono<ServerResponse> createNewDepartment(ServerRequest request) {
+        return body(request)
+                .flatMap(departmentService::createNewDepartment)
+                .flatMap(department -> ok(HttpStatus.CREATED, department));
+    }
+
+    // POST /departments/{departmentId}: update all details, only if it is still at the If-Match version when given
+    public Mono<ServerResponse> updateDepartmentById(ServerRequest request) {
+        Long id = departmentId(request);
+        Long expectedVersion = parseIfMatch(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return body(request)
+                .flatMap(inputDepartment -> departmentService.updateDepartmentById(inputDepartment, id, expectedVersion))
+                .flatMap(department -> ServerResponse.status(HttpStatus.ACCEPTED)
+                        .eTag(eTag(department.getVersion()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new ApiResponse<>(department)));
+    }
+
+    // DELETE /departments/{departmentId}
+    public Mono<ServerResponse> deleteDepartment(ServerRequest request) {
+        return departmentService.deleteDepartmentById(departmentId(request))
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static Mono<ServerResponse> ok(HttpStatus status, Object data) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(new ApiResponse<>(data));
+    }
+
+    private static Mono<DepartmentDTO> body(ServerRequest request) {
+        return request.bodyToMono(DepartmentDTO.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is missing")));
+    }
+
+    // The envelope prefix, the elements separated by commas and the suffix, one buffer per department
+    private Flux<DataBuffer> envelopedArray(Flux<DepartmentDTO> departments) {
+        return Flux.defer(() -> {
+            ApiEnvelope.Frame frame = apiEnvelope.frame();
+            Flux<DataBuffer> elements = departments.index().map(element -> {
+                byte[] json = objectMapper.writeValueAsBytes(element.getT2());
+                DataBuffer buffer = BUFFER_FACTORY.allocateBuffer(json.length + 1);
+                if (element.getT1() > 0) {
+                    buffer.write((byte) ',');
+                }
+                return buffer.write(json);
+            });
+            return Flux.concat(
+                    Mono.fromSupplier(() -> BUFFER_FACTORY.wrap(concat(frame.prefix(), "[".getBytes(StandardCharsets.UTF_8)))),
+                    elements,
+                    Mono.fromSupplier(() -> BUFFER_FACTORY.wrap(concat("]".getBytes(StandardCharsets.UTF_8), frame.suffix()))));
+        });
+    }
+
+    private static Long departmentId(ServerRequest request) {
+        return parse(request.pathVariable("departmentId"), "departmentId");
+    }
+
+    private static Long parse(String value, String name) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + name);
+        }
+    }
+
+    // Strong ETag of a single department, its version
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Version expected by an If-Match header, null when absent or "*" (any version of an existing department)
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() >= 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            eTag = eTag.substring(1, eTag.length() - 1);
+        }
+        try {
+            return Long.valueOf(eTag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + ifMatch + " does not match the current version");
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
+    }
+
+    // Expansions need the employees, which are only served by the servlet application
+    private static void checkNoExpand(ServerRequest request) {
+        if (request.queryParam("expand").isPresent()) {
+            throw new IllegalArgumentException("Expansions are not supported by the reactive API");
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] bytes = new byte[first.length + second.length];
+        System.arraycopy(first, 0, bytes, 0, first.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.devcodes.projects.company_management.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveDepartmentRepository extends ReactiveCrudRepository<DepartmentRecord, Long> {
+
+    // Keyset page of departments after the given id
+    @Query("select id, version, title, is_active, created_at from departments where id > :afterId order by id limit :limit")
+    Flux<DepartmentRecord> findPage(Long afterId, int limit);
+
+    // Every department in id order, rows are fetched as the subscriber requests them
+    @Query("select id, version, title, is_active, created_at from departments order by id")
+    Flux<DepartmentRecord> streamAll();
+}
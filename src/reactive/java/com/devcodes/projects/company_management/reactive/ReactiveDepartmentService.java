@@ -0,0 +1,172 @@
+package com.devcodes.projects.company_management.reactive;
+
+import com.devcodes.projects.company_management.dtos.CursorPageDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentFeedEventDTO;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+/**
+ * Department reads and writes over R2DBC. Writes keep the same bookkeeping as DepartmentService: the version is
+ * bumped and checked in the update statement, last_updated and the tombstones feed GET /departments/changes and every
+ * change is written to department_outbox in the same transaction, so a servlet instance on the same database still
+ * publishes it on GET /departments/events.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveDepartmentService {
+    // createdAt is server-owned and never written by an update
+    private static final String UPDATE_DETAILS = "update departments set title = :title, is_active = :isActive, "
+            + "last_updated = :lastUpdated, version = coalesce(version, 0) + 1 where id = :id";
+
+    private final ReactiveDepartmentRepository departmentRepository;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Validator validator;
+
+    public ReactiveDepartmentService(ReactiveDepartmentRepository departmentRepository, DatabaseClient databaseClient,
+                                     ReactiveTransactionManager transactionManager, Validator validator) {
+        this.departmentRepository = departmentRepository;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.validator = validator;
+    }
+
+    // Keyset pagination, same page and cursor as the servlet API
+    public Mono<CursorPageDTO<DepartmentDTO>> getDepartmentsPage(Long afterId, int limit) {
+        return departmentRepository.findPage(afterId == null ? 0L : afterId, limit)
+                .map(ReactiveDepartmentService::toDto)
+                .collectList()
+                .map(departments -> new CursorPageDTO<>(departments,
+                        departments.size() < limit ? null : departments.get(departments.size() - 1).getId()));
+    }
+
+    // Every department in id order, read from the database only as fast as the subscriber consumes them
+    public Flux<DepartmentDTO> streamAllDepartments() {
+        return departmentRepository.streamAll().map(ReactiveDepartmentService::toDto);
+    }
+
+    // Get department by id, signalling ResourceNotFoundException when it does not exist
+    public Mono<DepartmentDTO> getDepartmentById(Long id) {
+        return departmentRepository.findById(id)
+                .map(ReactiveDepartmentService::toDto)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Department not found with id: " + id)));
+    }
+
+    // Create a new department at version 0, the id comes from the sequence Hibernate allocates from
+    public Mono<DepartmentDTO> createNewDepartment(DepartmentDTO inputDepartment) {
+        return Mono.defer(() -> {
+            validate(inputDepartment);
+            Instant createdAt = inputDepartment.getCreatedAt() != null ? inputDepartment.getCreatedAt() : Instant.now();
+            return nextValue("departments_seq").flatMap(id -> databaseClient.sql("insert into departments "
+                            + "(id, version, title, is_active, created_at, last_updated) "
+                            + "values (:id, 0, :title, :isActive, :createdAt, :lastUpdated)")
+                    .bind("id", id)
+                    .bind("title", inputDepartment.getTitle())
+                    .bind("isActive", inputDepartment.getIsActive())
+                    .bind("createdAt", createdAt.atOffset(ZoneOffset.UTC))
+                    .bind("lastUpdated", utcNow())
+                    .then()
+                    .then(recordChange(id, DepartmentFeedEventDTO.UPSERTED))
+                    .then(Mono.fromSupplier(() -> {
+                        DepartmentDTO departmentDTO = new DepartmentDTO(id, inputDepartment.getTitle(), inputDepartment.getIsActive(), createdAt);
+                        departmentDTO.setVersion(0L);
+                        return departmentDTO;
+                    })));
+        }).as(transactionalOperator::transactional);
+    }
+
+    // Update all details of a department, only if it is still at the expected version when one is given
+    public Mono<DepartmentDTO> updateDepartmentById(DepartmentDTO inputDepartment, Long id, Long expectedVersion) {
+        return Mono.defer(() -> {
+            validate(inputDepartment);
+            DatabaseClient.GenericExecuteSpec update = databaseClient
+                    .sql(expectedVersion == null ? UPDATE_DETAILS : UPDATE_DETAILS + " and version = :version")
+                    .bind("id", id)
+                    .bind("title", inputDepartment.getTitle())
+                    .bind("isActive", inputDepartment.getIsActive())
+                    .bind("lastUpdated", utcNow());
+            if (expectedVersion != null) {
+                update = update.bind("version", expectedVersion);
+            }
+            return update.fetch().rowsUpdated().flatMap(updated -> updated == 0
+                    ? departmentRepository.existsById(id).flatMap(exists -> Mono.error(expectedVersion != null && exists
+                            ? new PreconditionFailedException("Department " + id + " is no longer at version " + expectedVersion)
+                            : new ResourceNotFoundException("Department not found with id: " + id)))
+                    : recordChange(id, DepartmentFeedEventDTO.UPSERTED).then(getDepartmentById(id)));
+        }).as(transactionalOperator::transactional);
+    }
+
+    // Delete a department, leaving a tombstone for GET /departments/changes
+    public Mono<Void> deleteDepartmentById(Long id) {
+        return databaseClient.sql("delete from departments where id = :id")
+                .bind("id", id)
+                .fetch().rowsUpdated()
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Department not found with id: " + id))
+                        : databaseClient.sql("insert into department_tombstones (department_id, deleted_at) values (:id, :deletedAt)")
+                                .bind("id", id)
+                                .bind("deletedAt", utcNow())
+                                .then()
+                                .then(recordChange(id, DepartmentFeedEventDTO.DELETED)))
+                .as(transactionalOperator::transactional);
+    }
+
+    // Outbox row picked up by DepartmentOutboxService of the servlet application
+    private Mono<Void> recordChange(Long departmentId, String changeType) {
+        return nextValue("department_outbox_seq").flatMap(id -> databaseClient.sql("insert into department_outbox "
+                        + "(id, department_id, change_type, created_at) values (:id, :departmentId, :changeType, :createdAt)")
+                .bind("id", id)
+                .bind("departmentId", departmentId)
+                .bind("changeType", changeType)
+                .bind("createdAt", now())
+                .then());
+    }
+
+    // Raw sequence value used as the id. Both sequences step by 50 for Hibernate's pooled optimizer, which hands out
+    // the ids after the previous value up to each value it fetches, so a value taken here is never one of them
+    private Mono<Long> nextValue(String sequence) {
+        return databaseClient.sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private void validate(DepartmentDTO inputDepartment) {
+        Set<ConstraintViolation<DepartmentDTO>> violations = validator.validate(inputDepartment);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // last_updated and deleted_at are UTC like the change tokens of GET /departments/changes
+    private static LocalDateTime utcNow() {
+        return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static DepartmentDTO toDto(DepartmentRecord departmentRecord) {
+        DepartmentDTO departmentDTO = new DepartmentDTO(departmentRecord.id(), departmentRecord.title(), departmentRecord.isActive(),
+                departmentRecord.createdAt() == null ? null : departmentRecord.createdAt().toInstant());
+        departmentDTO.setVersion(departmentRecord.version());
+        return departmentDTO;
+    }
+}
@@ -0,0 +1,65 @@
+package com.devcodes.projects.company_management.reactive;
+
+import com.devcodes.projects.company_management.advices.ApiError;
+import com.devcodes.projects.company_management.advices.ApiResponse;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Turns the errors of the reactive handlers into the same ApiResponse/ApiError bodies and statuses as
+ * GlobalExceptionHandler does for the servlet controllers.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    // Error response for anything a handler function signalled
+    public Mono<ServerResponse> handle(Throwable exception) {
+        return switch (exception) {
+            case ResourceNotFoundException e -> respond(HttpStatus.NOT_FOUND, e.getMessage(), null);
+            case PreconditionFailedException e -> respond(HttpStatus.PRECONDITION_FAILED, e.getMessage(), null);
+            case ConstraintViolationException e -> {
+                List<String> errors = e.getConstraintViolations().stream().map(ConstraintViolation::getMessage).toList();
+                logger.warn("Validation error: {}", errors);
+                yield respond(HttpStatus.BAD_REQUEST, "Validation failed", errors);
+            }
+            case IllegalArgumentException e -> respond(HttpStatus.BAD_REQUEST, e.getMessage(), null);
+            // Unreadable or mistyped request bodies
+            case ServerWebInputException e -> respond(HttpStatus.BAD_REQUEST, e.getReason(), null);
+            case DataIntegrityViolationException e -> {
+                logger.warn("Data integrity violation: {}", e.getMostSpecificCause().getMessage());
+                yield respond(HttpStatus.CONFLICT, "Data integrity violation. The operation cannot be completed.", null);
+            }
+            default -> {
+                logger.error("Unexpected error", exception);
+                yield respond(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred. Please try again later.", null);
+            }
+        };
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, String message, List<String> subErrors) {
+        ApiError apiError = ApiError
+                .builder()
+                .status(status)
+                .message(message)
+                .subErrors(subErrors)
+                .build();
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(new ApiResponse<>(apiError));
+    }
+}
@@ -0,0 +1,40 @@
+package com.devcodes.projects.company_management.reactive;
+
+import com.devcodes.projects.company_management.advices.ApiEnvelope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutesConfig {
+
+    // Department endpoints, /stream is matched before /{departmentId}
+    @Bean
+    public RouterFunction<ServerResponse> getDepartmentRoutes(ReactiveDepartmentHandler departmentHandler,
+                                                              ReactiveExceptionHandler exceptionHandler) {
+        return route(GET("/departments"), departmentHandler::getAllDepartments)
+                .andRoute(GET("/departments/stream"), departmentHandler::streamAllDepartments)
+                .andRoute(GET("/departments/{departmentId}"), departmentHandler::getDepartmentById)
+                .andRoute(POST("/departments"), departmentHandler::createNewDepartment)
+                .andRoute(POST("/departments/{departmentId}"), departmentHandler::updateDepartmentById)
+                .andRoute(DELETE("/departments/{departmentId}"), departmentHandler::deleteDepartment)
+                // Handlers also throw while validating parameters, before they return a publisher
+                .filter((request, next) -> Mono.defer(() -> next.handle(request)).onErrorResume(exceptionHandler::handle));
+    }
+
+    // The servlet application registers it by component scan, this application only scans the reactive package
+    @Bean
+    public ApiEnvelope getApiEnvelope(ObjectMapper objectMapper) {
+        return new ApiEnvelope(objectMapper);
+    }
+}
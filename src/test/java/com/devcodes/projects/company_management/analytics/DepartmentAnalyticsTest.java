@@ -0,0 +1,56 @@
+package com.devcodes.projects.company_management.analytics;
+
+import com.devcodes.projects.company_management.analytics.DepartmentAnalytics.DepartmentFacts;
+import com.devcodes.projects.company_management.analytics.DepartmentAnalytics.EmployeeFacts;
+import com.devcodes.projects.company_management.dtos.DepartmentAnalyticsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentAnalyticsTest {
+
+    @Test
+    void headCountComesFromTheEmployees() {
+        DepartmentAnalytics analytics = new DepartmentAnalytics();
+        analytics.putEmployee(10, new EmployeeFacts(1L, 50_000_00L, null));
+        analytics.putDepartment(1, department(true, 1));
+        analytics.putDepartment(2, department(false, 1));
+        analytics.putEmployee(11, new EmployeeFacts(1L, 40_000_00L, null));
+        analytics.putEmployee(12, new EmployeeFacts(2L, 40_000_00L, null));
+
+        DepartmentAnalyticsDTO snapshot = analytics.snapshot();
+        assertThat(snapshot.getMetrics().get("employeeCount").getSum()).isEqualByComparingTo(BigDecimal.valueOf(3));
+        assertThat(snapshot.getByIsActive().get("true").getTotalEmployeeCount()).isEqualTo(2);
+        assertThat(snapshot.getByIsActive().get("false").getTotalEmployeeCount()).isEqualTo(1);
+        assertThat(snapshot.getByPriority().get("1").getTotalEmployeeCount()).isEqualTo(3);
+    }
+
+    @Test
+    void headCountFollowsMovedEmployeesAndDepartments() {
+        DepartmentAnalytics analytics = new DepartmentAnalytics();
+        analytics.putDepartment(1, department(true, 1));
+        analytics.putDepartment(2, department(true, 2));
+        analytics.putEmployee(10, new EmployeeFacts(1L, null, null));
+        analytics.putEmployee(11, new EmployeeFacts(1L, null, null));
+
+        analytics.putEmployee(11, new EmployeeFacts(2L, null, null));
+        analytics.putDepartment(1, department(false, 2));
+        analytics.removeEmployee(10);
+
+        DepartmentAnalyticsDTO snapshot = analytics.snapshot();
+        assertThat(snapshot.getMetrics().get("employeeCount").getSum()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(snapshot.getByIsActive().get("true").getTotalEmployeeCount()).isEqualTo(1);
+        assertThat(snapshot.getByIsActive().get("false").getTotalEmployeeCount()).isZero();
+        assertThat(snapshot.getByPriority()).containsOnlyKeys("2");
+        assertThat(snapshot.getByPriority().get("2").getTotalEmployeeCount()).isEqualTo(1);
+
+        analytics.removeDepartment(2);
+        assertThat(analytics.snapshot().getMetrics().get("employeeCount").getSum()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private static DepartmentFacts department(boolean isActive, int priority) {
+        return new DepartmentFacts(isActive, priority, 2020, 100_00L, null, null, null);
+    }
+}
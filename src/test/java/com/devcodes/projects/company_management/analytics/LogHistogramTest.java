@@ -0,0 +1,40 @@
+package com.devcodes.projects.company_management.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogHistogramTest {
+
+    @Test
+    void singleValueIsEveryPercentile() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(150_000);
+
+        assertThat(histogram.percentile(0.5)).isEqualTo(150_000);
+        assertThat(histogram.percentile(0.99)).isEqualTo(150_000);
+    }
+
+    @Test
+    void percentilesStayWithinTheValues() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(100_000);
+        histogram.add(100_500);
+        histogram.add(-4_200);
+
+        for (double fraction : new double[]{0.01, 0.5, 0.9, 0.99, 1.0}) {
+            assertThat(histogram.percentile(fraction)).isBetween(-4_200L, 100_500L);
+        }
+        assertThat(histogram.percentile(0.01)).isEqualTo(-4_200);
+    }
+
+    @Test
+    void removedValuesNoLongerCount() {
+        LogHistogram histogram = new LogHistogram();
+        histogram.add(1_000);
+        histogram.add(5_000_000);
+        histogram.remove(5_000_000);
+
+        assertThat(histogram.percentile(0.99)).isEqualTo(1_000);
+    }
+}
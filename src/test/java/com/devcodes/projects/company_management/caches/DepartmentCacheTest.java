@@ -0,0 +1,27 @@
+package com.devcodes.projects.company_management.caches;
+
+import com.devcodes.projects.company_management.dtos.CacheStatsDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentCacheTest {
+
+    // Existence checks must not skew the hit rate the cache is tuned by
+    @Test
+    void containsDoesNotCountHitsOrMisses() {
+        DepartmentCache departmentCache = new DepartmentCache(100, Duration.ofMinutes(1));
+        departmentCache.get(1L, key -> CompletableFuture.completedFuture(new DepartmentDTO(1L, "Cached", true, null)));
+
+        assertThat(departmentCache.contains(1L)).isTrue();
+        assertThat(departmentCache.contains(2L)).isFalse();
+
+        CacheStatsDTO stats = departmentCache.getStats();
+        assertThat(stats.getHitCount()).isZero();
+        assertThat(stats.getMissCount()).isEqualTo(1);
+    }
+}
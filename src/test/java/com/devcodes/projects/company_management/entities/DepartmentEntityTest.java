@@ -0,0 +1,29 @@
+package com.devcodes.projects.company_management.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentEntityTest {
+
+    // Change tokens are UTC, a stamp in the local time would jump back an hour when daylight saving ends
+    @Test
+    void touchStampsUtcWhateverTheDefaultZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+        try {
+            DepartmentEntity departmentEntity = new DepartmentEntity();
+            departmentEntity.touch();
+
+            assertThat(Duration.between(departmentEntity.getLastUpdated(), LocalDateTime.now(ZoneOffset.UTC)).abs())
+                    .isLessThan(Duration.ofMinutes(1));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.devcodes.projects.company_management.entities;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringListConverterTest {
+    private final StringListConverter converter = new StringListConverter();
+
+    @Test
+    void plainElementsRoundTrip() {
+        List<String> values = List.of("Alice", "Bob Smith", "");
+
+        assertThat(converter.convertToDatabaseColumn(values)).isEqualTo("Alice\u001FBob Smith\u001F\u001F");
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(values))).isEqualTo(values);
+    }
+
+    @Test
+    void separatorsAndBackslashesInsideElementsRoundTrip() {
+        List<String> values = List.of("a\u001Fb", "c\\d", "\\", "\u001F", "ends with \\", "\\\u001F\\");
+
+        assertThat(converter.convertToDatabaseColumn(List.of("a\u001Fb", "c\\d"))).isEqualTo("a\\\u001Fb\u001Fc\\\\d\u001F");
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(values))).isEqualTo(values);
+    }
+
+    @Test
+    void nullElementsComeBackEmpty() {
+        List<String> values = Arrays.asList("first", null, "last");
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(values)))
+                .containsExactly("first", "", "last");
+    }
+
+    // V3 migrated rows without elements to NULL; they must read like the empty list the converter writes
+    @Test
+    void emptyNullListAndNullColumnAreTheSame() {
+        assertThat(converter.convertToDatabaseColumn(new ArrayList<>())).isEmpty();
+        assertThat(converter.convertToDatabaseColumn(null)).isEmpty();
+        assertThat(converter.convertToEntityAttribute("")).isEmpty();
+        assertThat(converter.convertToEntityAttribute(null)).isNotNull().isEmpty();
+    }
+
+    // Escapes count against the column, a list of 2000 backslashes is 4001 characters once encoded
+    @Test
+    void encodedListSizeCountsEscapesAndSeparators() {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = validatorFactory.getValidator();
+            List<String> fits = List.of("x".repeat(3999));
+            List<String> overflows = List.of("\\".repeat(2000));
+
+            assertThat(validator.validateValue(EmployeeEntity.class, "addressList", fits)).isEmpty();
+            assertThat(validator.validateValue(EmployeeEntity.class, "addressList", overflows))
+                    .extracting(violation -> violation.getMessage())
+                    .containsExactly("Address list must not exceed 4000 characters once encoded");
+            assertThat(validator.validateValue(EmployeeEntity.class, "addressList", Collections.nCopies(2000, "ab")))
+                    .hasSize(1);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.devcodes.projects.company_management.events;
+
+import com.devcodes.projects.company_management.dtos.DepartmentFeedEventDTO;
+import com.devcodes.projects.company_management.sharding.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class DepartmentChangeFeedTest {
+    private final DepartmentChangeFeed feed = new DepartmentChangeFeed(new JsonMapper(), 4, Duration.ofMinutes(1));
+
+    @Test
+    void aStalledSubscriberHoldsBackNobodyAndIsResetOnceItFellOutOfTheBuffer() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter live = new RecordingEmitter();
+        feed.subscribe(null, stalled);
+        feed.subscribe(null, live);
+
+        publish(1);
+        assertThat(stalled.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        // Published one at a time so the live subscriber never falls out of the small buffer itself
+        for (long departmentId = 2; departmentId <= 10; departmentId++) {
+            publish(departmentId);
+            long expected = departmentId;
+            await().atMost(Duration.ofSeconds(5)).until(() -> live.events.size() == expected);
+        }
+        assertThat(live.events).allMatch(event -> event.contains("event:" + DepartmentChangeFeed.CHANGE_EVENT));
+
+        stalled.release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> stalled.events.size() == 2);
+        assertThat(stalled.events.get(0)).contains("event:" + DepartmentChangeFeed.CHANGE_EVENT);
+        assertThat(stalled.events.get(1)).contains("event:" + DepartmentChangeFeed.RESET_EVENT);
+    }
+
+    @Test
+    void resumesAfterTheLastSeenOffset() {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe(null, first);
+        publish(1);
+        publish(2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> first.events.size() == 2);
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe(offsetOf(first.events.get(0)), resumed);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> resumed.events.size() == 1);
+        assertThat(resumed.events.get(0)).contains("\"departmentId\":2");
+    }
+
+    private void publish(long departmentId) {
+        feed.publish(List.of(new DepartmentFeedEventDTO(0, TenantContext.DEFAULT_TENANT, departmentId,
+                DepartmentFeedEventDTO.UPSERTED, LocalDateTime.now())));
+    }
+
+    private static long offsetOf(String event) {
+        return Long.parseLong(event.substring(event.indexOf("id:") + 3, event.indexOf('\n', event.indexOf("id:"))));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+    }
+
+    // Blocks in its first send like a client that stopped reading
+    private static class StalledEmitter extends RecordingEmitter {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.send(builder);
+        }
+    }
+}
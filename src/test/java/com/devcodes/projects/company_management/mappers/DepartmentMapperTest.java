@@ -0,0 +1,39 @@
+package com.devcodes.projects.company_management.mappers;
+
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentMapperTest {
+    private static final Instant CREATED_AT = Instant.parse("2024-01-15T10:00:00Z");
+
+    @Test
+    void directUpdateKeepsTheStoredCreatedAt() {
+        assertUpdateKeepsCreatedAt(new DirectDepartmentMapper());
+    }
+
+    @Test
+    void modelMapperUpdateKeepsTheStoredCreatedAt() {
+        assertUpdateKeepsCreatedAt(new ModelMapperDepartmentMapper(new ModelMapper()));
+    }
+
+    private static void assertUpdateKeepsCreatedAt(DepartmentMapper departmentMapper) {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        departmentEntity.setId(7L);
+        departmentEntity.setTitle("Engineering");
+        departmentEntity.setIsActive(true);
+        departmentEntity.setCreatedAt(CREATED_AT);
+
+        departmentMapper.updateEntity(new DepartmentDTO(null, "Platform", false, null), departmentEntity);
+
+        assertThat(departmentEntity.getId()).isEqualTo(7L);
+        assertThat(departmentEntity.getTitle()).isEqualTo("Platform");
+        assertThat(departmentEntity.getIsActive()).isFalse();
+        assertThat(departmentEntity.getCreatedAt()).isEqualTo(CREATED_AT);
+    }
+}
@@ -0,0 +1,44 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import com.devcodes.projects.company_management.exceptions.TooManyRequestsException;
+import com.devcodes.projects.company_management.ratelimit.AdmissionControlInterceptor.RateLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlInterceptorTest {
+    private static final String PROXY = "10.0.0.1";
+
+    // One read per client, refilled far slower than the test runs
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+            Map.of(EndpointClass.READ, new RateLimit(0.001, 1)),
+            new LoadShedder(Duration.ofMillis(200), Duration.ofSeconds(1), 2, 64),
+            "X-Client-Id", Set.of(PROXY), 1000, Duration.ofMinutes(10));
+
+    @Test
+    void ignoresTheClientHeaderFromUntrustedAddresses() {
+        assertThat(read("192.0.2.7", "first")).isTrue();
+        assertThatThrownBy(() -> read("192.0.2.7", "second")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void tellsClientsApartByTheHeaderBehindATrustedProxy() {
+        assertThat(read(PROXY, "first")).isTrue();
+        assertThat(read(PROXY, "second")).isTrue();
+        assertThatThrownBy(() -> read(PROXY, "first")).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private boolean read(String remoteAddress, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/departments");
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader("X-Client-Id", client);
+        return interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+}
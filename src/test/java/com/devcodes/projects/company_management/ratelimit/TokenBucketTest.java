@@ -0,0 +1,51 @@
+package com.devcodes.projects.company_management.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    void allowsTheBurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void refillsAtTheRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(40))).isEqualTo(TimeUnit.MILLISECONDS.toNanos(60));
+        assertThat(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+    }
+
+    @Test
+    void doesNotSaveUpMoreThanTheBurstWhileIdle() {
+        TokenBucket bucket = new TokenBucket(10, 2, START);
+        long later = START + TimeUnit.SECONDS.toNanos(60);
+
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+
+        assertThat(bucket.tryAcquire(START)).isZero();
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(START)).isPositive();
+        }
+        assertThat(bucket.tryAcquire(START + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+    }
+}
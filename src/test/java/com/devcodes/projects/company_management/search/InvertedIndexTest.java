@@ -0,0 +1,64 @@
+package com.devcodes.projects.company_management.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, List.of("Platform Engineering", "DEPT-PE01"));
+        index.put(2, List.of("Finance", "DEPT-FI02"));
+        index.put(3, List.of("Engine Room", "DEPT-ER03"));
+    }
+
+    @Test
+    void ranksExactMatchesBeforePrefixMatches() {
+        assertThat(index.search("eng", 10)).containsExactly(1L, 3L);
+        assertThat(index.search("Engine", 10)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void matchesTyposWithinOneEdit() {
+        assertThat(index.search("finanse", 10)).containsExactly(2L);
+        assertThat(index.search("fniance", 10)).containsExactly(2L);
+        assertThat(index.search("fnancee", 10)).isEmpty();
+    }
+
+    @Test
+    void requiresEveryQueryToken() {
+        assertThat(index.search("plat eng", 10)).containsExactly(1L);
+        assertThat(index.search("dept-fi", 10)).containsExactly(2L);
+        assertThat(index.search("finance room", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexesAndRemovesDocuments() {
+        index.put(3, List.of("Boiler Room"));
+        index.remove(1);
+
+        assertThat(index.search("eng", 10)).isEmpty();
+        assertThat(index.search("boil", 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void buildDoesNotOverwriteNewerWrites() {
+        index.beginBuild();
+        index.put(5, List.of("New Name"));
+        index.putFromBuild(5, List.of("Old Name"));
+        index.putFromBuild(6, List.of("Legal"));
+        index.endBuild();
+
+        assertThat(index.search("new", 10)).containsExactly(5L);
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("legal", 10)).containsExactly(6L);
+    }
+}
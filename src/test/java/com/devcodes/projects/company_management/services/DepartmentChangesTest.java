@@ -0,0 +1,106 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.DepartmentChangesDTO;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.exceptions.GoneException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// GET /departments/changes: pages continue exactly where the previous one stopped, tombstones older than the
+// retention are pruned, and a change token from before it is refused instead of silently missing pruned deletions
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:department_changes",
+        "app.departments.changes.retention=1h",
+        "app.departments.changes.prune-interval=1d",
+        "app.rate-limit.enabled=false",
+        "app.search.enabled=false",
+        "app.analytics.enabled=false"
+})
+class DepartmentChangesTest {
+
+    @Autowired
+    private DepartmentTombstoneService departmentTombstoneService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesThroughChangesAndDeletions() {
+        LocalDateTime start = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Two rows share a lastUpdated, the page boundary falls between them
+            ids.add(insertDepartment("Changed " + i, start.plusSeconds(i == 2 ? 1 : i)));
+        }
+        insertTombstone(800_001L, start.plusSeconds(1));
+        insertTombstone(800_002L, start.plusSeconds(2));
+        insertTombstone(800_003L, start.plusSeconds(3));
+
+        List<Long> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        List<Boolean> hasMore = new ArrayList<>();
+        String token = toToken(start);
+        do {
+            DepartmentChangesDTO page = departmentService.getDepartmentChangesSince(token, 2);
+            page.getChanged().stream().map(DepartmentDTO::getId).forEach(changed::add);
+            deleted.addAll(page.getDeleted());
+            hasMore.add(page.isHasMore());
+            token = page.getNextToken();
+        } while (hasMore.get(hasMore.size() - 1));
+
+        assertThat(changed).containsExactly(ids.get(0), ids.get(1), ids.get(2), ids.get(3), ids.get(4));
+        assertThat(deleted).containsExactly(800_001L, 800_002L, 800_003L);
+        assertThat(hasMore).containsExactly(true, true, false);
+        assertThat(departmentService.getDepartmentChangesSince(token, 2).getChanged()).isEmpty();
+    }
+
+    @Test
+    void prunesTombstonesOlderThanTheRetention() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        insertTombstone(900_001L, now.minusHours(2));
+        insertTombstone(900_002L, now.minusMinutes(5));
+
+        departmentTombstoneService.prune();
+
+        assertThat(jdbcTemplate.queryForList("select department_id from department_tombstones where department_id >= 900000", Long.class))
+                .containsExactly(900_002L);
+        DepartmentChangesDTO changes = departmentService.getDepartmentChangesSince(toToken(now.minusMinutes(30)), 100);
+        assertThat(changes.getDeleted()).contains(900_002L);
+    }
+
+    @Test
+    void refusesTokensOlderThanTheRetention() {
+        String stale = toToken(LocalDateTime.now(ZoneOffset.UTC).minusHours(2));
+
+        assertThatThrownBy(() -> departmentService.getDepartmentChangesSince(stale, 100)).isInstanceOf(GoneException.class);
+        assertThat(departmentService.getDepartmentChangesSince("0", 100).getNextToken()).isNotBlank();
+    }
+
+    private Long insertDepartment(String title, LocalDateTime lastUpdated) {
+        Long id = jdbcTemplate.queryForObject("select next value for departments_seq", Long.class);
+        jdbcTemplate.update("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                + "values (?, 0, ?, true, 'Grace', current_timestamp, ?)", id, title, lastUpdated);
+        return id;
+    }
+
+    private void insertTombstone(Long departmentId, LocalDateTime deletedAt) {
+        jdbcTemplate.update("insert into department_tombstones (department_id, deleted_at) values (?, ?)", departmentId, deletedAt);
+    }
+
+    private static String toToken(LocalDateTime time) {
+        return Long.toString(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1000);
+    }
+}
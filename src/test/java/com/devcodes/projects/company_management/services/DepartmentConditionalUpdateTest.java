@@ -0,0 +1,174 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.controllers.DepartmentController;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.StringListConverter;
+import com.devcodes.projects.company_management.exceptions.PreconditionFailedException;
+import com.devcodes.projects.company_management.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Conditional full and partial updates: If-Match parsing, 412 versus 404 when no row was written, the bump of
+// versionless rows and the bounded retry of a PATCH that loses a race
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:department_conditional_update",
+        "app.rate-limit.enabled=false",
+        "app.search.enabled=false",
+        "app.analytics.enabled=false",
+        "app.departments.patch.max-retries=2"
+})
+class DepartmentConditionalUpdateTest {
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private DepartmentController departmentController;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @MockitoSpyBean
+    private DepartmentPatchEngine departmentPatchEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void resetPatchEngine() {
+        reset(departmentPatchEngine);
+    }
+
+    @Test
+    void staleVersionIsPreconditionFailedAndMissingRowIsNotFound() {
+        Long id = seed(0L);
+
+        assertThatThrownBy(() -> departmentService.updateDepartmentById(update("Stale"), id, 5L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> departmentService.updateDepartmentById(update("Missing"), MISSING_ID, 0L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> departmentService.updateDepartmentById(update("Missing"), MISSING_ID, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(version(id)).isZero();
+    }
+
+    @Test
+    void rowWithoutVersionIsBumpedToOne() {
+        Long id = seed(null);
+
+        DepartmentDTO departmentDTO = departmentService.updateDepartmentById(update("Versioned"), id, null);
+
+        assertThat(departmentDTO.getVersion()).isNull();
+        assertThat(version(id)).isEqualTo(1L);
+    }
+
+    // Two writers holding the same ETag: the first one wins, the second gets 412 instead of overwriting it
+    @Test
+    void onlyTheFirstWriterWithAnIfMatchWins() {
+        Long id = seed(0L);
+
+        assertThat(departmentController.updateDepartmentById(update("First"), id, "\"0\"").getHeaders().getETag())
+                .isEqualTo("\"1\"");
+        assertThatThrownBy(() -> departmentController.updateDepartmentById(update("Second"), id, "\"0\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> departmentController.updateDepartmentById(update("Weak"), id, "W/\"1\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(departmentController.updateDepartmentById(update("Any"), id, "*").getStatusCode())
+                .isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(jdbcTemplate.queryForObject("select title from departments where id = ?", String.class, id))
+                .isEqualTo("Any");
+    }
+
+    @Test
+    void patchIsRetriedAfterALostRace() {
+        Long id = seed(0L);
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (!raced.getAndSet(true)) {
+                bumpVersion(id);
+            }
+            return invocation.callRealMethod();
+        }).when(departmentPatchEngine).apply(any(), any());
+
+        DepartmentDTO departmentDTO = departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), id, null);
+
+        assertThat(departmentDTO.getTitle()).isEqualTo("Patched");
+        verify(departmentPatchEngine, times(2)).apply(any(), any());
+    }
+
+    @Test
+    void patchRetriesAreBounded() {
+        Long id = seed(0L);
+        doAnswer(invocation -> {
+            bumpVersion(id);
+            return invocation.callRealMethod();
+        }).when(departmentPatchEngine).apply(any(), any());
+
+        assertThatThrownBy(() -> departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), id, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        // The first attempt and max-retries more
+        verify(departmentPatchEngine, times(3)).apply(any(), any());
+
+        // With If-Match a lost race is not retried
+        clearInvocations(departmentPatchEngine);
+        assertThatThrownBy(() -> departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), id, 0L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(departmentPatchEngine, times(1)).apply(any(), any());
+    }
+
+    @Test
+    void patchChecksIfMatchBeforeApplying() {
+        Long id = seed(0L);
+
+        assertThatThrownBy(() -> departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), id, 7L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), MISSING_ID, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(departmentPatchEngine, never()).apply(any(), any());
+        assertThat(departmentService.partialUpdateDepartmentById(Map.of("title", "Patched"), id, 0L).getVersion())
+                .isEqualTo(1L);
+    }
+
+    // A concurrent writer between the load and the flush of a patch; it runs on the patch's own connection, so the
+    // rollback of a failed attempt also undoes it
+    private void bumpVersion(Long id) {
+        jdbcTemplate.update("update departments set version = version + 1 where id = ?", id);
+    }
+
+    private Long seed(Long version) {
+        jdbcTemplate.update("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                        + "values (next value for departments_seq, ?, ?, true, ?, ?, ?)",
+                version, "Department", new StringListConverter().convertToDatabaseColumn(List.of("Manager")),
+                Instant.now().atOffset(ZoneOffset.UTC), LocalDateTime.now(ZoneOffset.UTC));
+        return jdbcTemplate.queryForObject("select max(id) from departments", Long.class);
+    }
+
+    private Long version(Long id) {
+        return jdbcTemplate.queryForObject("select version from departments where id = ?", Long.class, id);
+    }
+
+    private static DepartmentDTO update(String title) {
+        return new DepartmentDTO(null, title, true, null);
+    }
+}
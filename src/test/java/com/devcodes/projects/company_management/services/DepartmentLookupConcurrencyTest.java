@@ -0,0 +1,83 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.controllers.DepartmentController;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.StringListConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Far more concurrent uncached GET /departments/{id} than pooled connections: every lookup must be answered by the
+// batches without a request holding a connection while it waits for one
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:department_lookup_concurrency",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "app.rate-limit.enabled=false",
+        "app.search.enabled=false",
+        "app.analytics.enabled=false"
+})
+class DepartmentLookupConcurrencyTest {
+    private static final int DEPARTMENTS = 200;
+
+    @Autowired
+    private DepartmentController departmentController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void plainLookupsDoNotExhaustASmallPool() throws Exception {
+        List<Long> ids = seed();
+        List<Future<ResponseEntity<DepartmentDTO>>> responses = new ArrayList<>(ids.size());
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                responses.add(requests.submit(() -> departmentController.getDepartmentById(id, null,
+                        new ServletWebRequest(new MockHttpServletRequest("GET", "/departments/" + id)))));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                ResponseEntity<DepartmentDTO> response = responses.get(i).get(30, TimeUnit.SECONDS);
+                assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+                assertThat(response.getBody().getId()).isEqualTo(ids.get(i));
+            }
+        }
+    }
+
+    @Test
+    void openInViewIsDisabled() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    private List<Long> seed() {
+        StringListConverter stringListConverter = new StringListConverter();
+        List<Object[]> rows = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            rows.add(new Object[]{"Department " + i, stringListConverter.convertToDatabaseColumn(List.of("Manager " + i)),
+                    Instant.now().atOffset(ZoneOffset.UTC), LocalDateTime.now()});
+        }
+        jdbcTemplate.batchUpdate("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                + "values (next value for departments_seq, 0, ?, true, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id from departments where title like 'Department %' order by id", Long.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.entities.DepartmentEntity;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DepartmentPatchEngineTest {
+
+    private final DepartmentPatchEngine patchEngine =
+            new DepartmentPatchEngine(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void convertsJsonValuesToFieldTypes() {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        Map<String, Object> patch = new LinkedHashMap<>();
+        patch.put("title", "Finance");
+        patch.put("budget", 1500);
+        patch.put("priority", 3);
+        patch.put("establishedDate", "2001-02-03");
+        patch.put("managerNames", List.of("Alice", "Bob"));
+
+        patchEngine.apply(departmentEntity, patch);
+
+        assertThat(departmentEntity.getTitle()).isEqualTo("Finance");
+        assertThat(departmentEntity.getBudget()).isEqualByComparingTo(new BigDecimal("1500"));
+        assertThat(departmentEntity.getPriority()).isEqualTo(3);
+        assertThat(departmentEntity.getEstablishedDate()).isEqualTo(LocalDate.of(2001, 2, 3));
+        assertThat(departmentEntity.getManagerNames()).containsExactly("Alice", "Bob");
+    }
+
+    @Test
+    void rejectsUnknownAndReadOnlyFields() {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+
+        assertThatThrownBy(() -> patchEngine.apply(departmentEntity, Map.of("unknown", 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> patchEngine.apply(departmentEntity, Map.of("id", 42)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTenantId() {
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+
+        assertThatThrownBy(() -> patchEngine.apply(departmentEntity, Map.of("tenantId", "other")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(departmentEntity.getTenantId()).isNull();
+    }
+
+    @Test
+    void rejectsValuesThatCannotBeConverted() {
+        assertThatThrownBy(() -> patchEngine.apply(new DepartmentEntity(), Map.of("priority", "high")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("priority");
+    }
+
+    @Test
+    void validatesOnlyPatchedFields() {
+        // title is @NotNull, but it is not part of this patch so it must not be reported
+        DepartmentEntity departmentEntity = new DepartmentEntity();
+        patchEngine.apply(departmentEntity, Map.of("priority", 5));
+
+        assertThatThrownBy(() -> patchEngine.apply(departmentEntity, Map.of("priority", 11)))
+                .isInstanceOf(ConstraintViolationException.class);
+    }
+}
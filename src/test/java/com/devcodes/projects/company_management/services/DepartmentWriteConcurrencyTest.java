@@ -0,0 +1,74 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.controllers.DepartmentController;
+import com.devcodes.projects.company_management.dtos.DepartmentDTO;
+import com.devcodes.projects.company_management.entities.StringListConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Far more concurrent department updates than pooled connections, with the search index and the analytics kept current
+// by the change events: applying them must not need a second connection while the write still holds its own
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:department_write_concurrency",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "app.rate-limit.enabled=false"
+})
+class DepartmentWriteConcurrencyTest {
+    private static final int DEPARTMENTS = 50;
+
+    @Autowired
+    private DepartmentController departmentController;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void updatesDoNotExhaustASmallPool() throws Exception {
+        List<Long> ids = seed();
+        List<Future<ResponseEntity<DepartmentDTO>>> responses = new ArrayList<>(ids.size());
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long id : ids) {
+                DepartmentDTO update = new DepartmentDTO(null, "Renamed department " + id, true, null);
+                responses.add(requests.submit(() -> departmentController.updateDepartmentById(update, id, null)));
+            }
+            for (Future<ResponseEntity<DepartmentDTO>> response : responses) {
+                assertThat(response.get(30, TimeUnit.SECONDS).getStatusCode().is2xxSuccessful()).isTrue();
+            }
+        }
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(searchService.searchDepartments("renamed", SearchService.MAX_SEARCH_LIMIT)).hasSize(DEPARTMENTS));
+    }
+
+    private List<Long> seed() {
+        StringListConverter stringListConverter = new StringListConverter();
+        List<Object[]> rows = new ArrayList<>(DEPARTMENTS);
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            rows.add(new Object[]{"Department " + i, stringListConverter.convertToDatabaseColumn(List.of("Manager " + i)),
+                    Instant.now().atOffset(ZoneOffset.UTC), LocalDateTime.now()});
+        }
+        jdbcTemplate.batchUpdate("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                + "values (next value for departments_seq, 0, ?, true, ?, ?, ?)", rows);
+        return jdbcTemplate.queryForList("select id from departments where title like 'Department %' order by id", Long.class);
+    }
+}
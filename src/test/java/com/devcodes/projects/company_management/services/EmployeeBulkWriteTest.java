@@ -0,0 +1,76 @@
+package com.devcodes.projects.company_management.services;
+
+import com.devcodes.projects.company_management.dtos.BulkItemResultDTO;
+import com.devcodes.projects.company_management.dtos.BulkItemStatus;
+import com.devcodes.projects.company_management.dtos.BulkResultDTO;
+import com.devcodes.projects.company_management.dtos.EmployeeDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// An item naming a missing department is reported on its own, the rest of its chunk is still written
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:employee_bulk_write",
+        "app.rate-limit.enabled=false",
+        "app.search.enabled=false",
+        "app.analytics.enabled=false"
+})
+class EmployeeBulkWriteTest {
+    private static final long MISSING_DEPARTMENT_ID = 999_999L;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createReportsMissingDepartmentsPerItem() {
+        Long departmentId = newDepartment();
+
+        BulkResultDTO result = employeeService.bulkCreateEmployees(List.of(
+                employee("Alice", departmentId), employee("Bob", MISSING_DEPARTMENT_ID), employee("Carol", null)).iterator());
+
+        assertThat(result.getItems()).extracting(BulkItemResultDTO::getStatus)
+                .containsExactly(BulkItemStatus.CREATED, BulkItemStatus.INVALID, BulkItemStatus.CREATED);
+        assertThat(result.getItems().get(1).getErrors()).containsExactly("departmentId: Department not found with id: " + MISSING_DEPARTMENT_ID);
+    }
+
+    @Test
+    void updateReportsMissingDepartmentsPerItem() {
+        Long departmentId = newDepartment();
+        List<BulkItemResultDTO> created = employeeService.bulkCreateEmployees(List.of(
+                employee("Dave", departmentId), employee("Erin", departmentId)).iterator()).getItems();
+
+        EmployeeDTO moved = employee("Dave", MISSING_DEPARTMENT_ID);
+        moved.setId(created.get(0).getId());
+        EmployeeDTO renamed = employee("Erin Renamed", departmentId);
+        renamed.setId(created.get(1).getId());
+        BulkResultDTO result = employeeService.bulkUpdateEmployees(List.of(moved, renamed).iterator());
+
+        assertThat(result.getItems()).extracting(BulkItemResultDTO::getStatus)
+                .containsExactly(BulkItemStatus.INVALID, BulkItemStatus.UPDATED);
+        assertThat(employeeService.getEmployeeById(moved.getId()).orElseThrow().getDepartmentId()).isEqualTo(departmentId);
+    }
+
+    private Long newDepartment() {
+        Long id = jdbcTemplate.queryForObject("select next value for departments_seq", Long.class);
+        jdbcTemplate.update("insert into departments (id, version, title, is_active, manager_names, created_at, last_updated) "
+                + "values (?, 0, 'Engineering', true, 'Grace', current_timestamp, current_timestamp)", id);
+        return id;
+    }
+
+    private static EmployeeDTO employee(String name, Long departmentId) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setName(name);
+        employee.setSkills(List.of("java"));
+        employee.setIsPermanent(true);
+        employee.setDepartmentId(departmentId);
+        return employee;
+    }
+}
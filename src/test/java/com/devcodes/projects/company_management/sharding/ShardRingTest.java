@@ -0,0 +1,78 @@
+package com.devcodes.projects.company_management.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRingTest {
+    private static final int TENANTS = 10_000;
+
+    @Test
+    void spreadsTenantsOverAllShards() {
+        ShardRing ring = new ShardRing(List.of("a", "b", "c"), 128, Map.of());
+        Map<String, Integer> tenantsPerShard = new HashMap<>();
+        for (int i = 0; i < TENANTS; i++) {
+            tenantsPerShard.merge(ring.shardFor("tenant-" + i), 1, Integer::sum);
+        }
+
+        assertThat(tenantsPerShard).containsOnlyKeys("a", "b", "c");
+        assertThat(tenantsPerShard.values()).allSatisfy(count -> assertThat(count).isBetween(TENANTS / 4, TENANTS / 2));
+    }
+
+    @Test
+    void addingAShardOnlyMovesTenantsToIt() {
+        ShardRing before = new ShardRing(List.of("a", "b", "c"), 128, Map.of());
+        ShardRing after = new ShardRing(List.of("a", "b", "c", "d"), 128, Map.of());
+        int moved = 0;
+        for (int i = 0; i < TENANTS; i++) {
+            String tenant = "tenant-" + i;
+            if (!before.shardFor(tenant).equals(after.shardFor(tenant))) {
+                assertThat(after.shardFor(tenant)).isEqualTo("d");
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(TENANTS / 8, TENANTS * 3 / 8);
+    }
+
+    @Test
+    void pinnedTenantsBypassTheRing() {
+        ShardRing ring = new ShardRing(List.of("a", "b"), 128, Map.of("acme", "b", "globex", "a"));
+
+        assertThat(ring.shardFor("acme")).isEqualTo("b");
+        assertThat(ring.shardFor("globex")).isEqualTo("a");
+    }
+
+    @Test
+    void rejectsPinsToUnknownShards() {
+        assertThatThrownBy(() -> new ShardRing(List.of("a"), 128, Map.of("acme", "z")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // After a shard is added, the tenants it takes over still have their rows on the old shard
+    @Test
+    void reportsTenantsRoutedAwayFromTheirRows() {
+        ShardRing before = new ShardRing(List.of("a", "b"), 128, Map.of());
+        ShardRing after = new ShardRing(List.of("a", "b", "c"), 128, Map.of());
+        String moved = null;
+        for (int i = 0; moved == null; i++) {
+            if (after.shardFor("tenant-" + i).equals("c")) {
+                moved = "tenant-" + i;
+            }
+        }
+        String oldShard = before.shardFor(moved);
+        Map<String, Set<String>> tenantsByShard = Map.of(oldShard, Set.of(moved));
+
+        assertThat(before.strandedTenants(tenantsByShard)).isEmpty();
+        assertThat(after.strandedTenants(tenantsByShard)).containsExactly(Map.entry(moved, oldShard));
+        assertThat(new ShardRing(List.of("a", "b", "c"), 128, Map.of(moved, oldShard)).strandedTenants(tenantsByShard)).isEmpty();
+        // Copied to the new shard, the rows left behind do not matter
+        assertThat(after.strandedTenants(Map.of(oldShard, Set.of(moved), "c", Set.of(moved)))).isEmpty();
+    }
+}